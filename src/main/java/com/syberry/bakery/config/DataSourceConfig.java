@@ -0,0 +1,70 @@
+package com.syberry.bakery.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces the single {@code spring.datasource} pool with a primary pool plus one pool per
+ * {@code bakery.datasource.replicaUrls} entry, routed by {@link ReplicaRoutingDataSource}. Replicas share the
+ * primary's credentials. Without replica URLs Spring Boot's own data source is used.
+ * <p>
+ * Spring Boot binds metrics only for the pool this data source unwraps to, the primary, so the others are bound
+ * once all singletons exist; the meter registry's data source binder needs this data source first.
+ */
+@Configuration
+@ConditionalOnExpression("!'${bakery.datasource.replicaUrls:}'.isBlank()")
+public class DataSourceConfig {
+    @Value("${bakery.datasource.replicaUrls}")
+    private List<String> replicaUrls;
+    @Value("${bakery.datasource.primaryPinMs}")
+    private long primaryPinMs;
+    @Value("${bakery.datasource.maxPinnedUsers}")
+    private long maxPinnedUsers;
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(DataSourceProperties properties) {
+        HikariDataSource primary = pool(properties, properties.determineUrl(), "primary");
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            replicas.add(pool(properties, replicaUrls.get(i).trim(), "replica-" + (i + 1)));
+        }
+        return new ReplicaRoutingDataSource(primary, replicas, Duration.ofMillis(primaryPinMs), maxPinnedUsers);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    @Bean
+    public SmartInitializingSingleton replicaRoutingPoolMetrics(ReplicaRoutingDataSource replicaRoutingDataSource,
+                                                                MeterRegistry meterRegistry) {
+        return () -> replicaRoutingDataSource.getPools().stream()
+                .filter(pool -> pool.getMetricsTrackerFactory() == null)
+                .forEach(pool -> pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry)));
+    }
+
+    private static HikariDataSource pool(DataSourceProperties properties, String url, String name) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(url)
+                .build();
+        pool.setPoolName(name);
+        return pool;
+    }
+}
@@ -0,0 +1,80 @@
+package com.syberry.bakery.config;
+
+import com.syberry.bakery.entity.Employee;
+import com.syberry.bakery.entity.Role;
+import com.syberry.bakery.entity.User;
+import com.syberry.bakery.entity.User_;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.core.config.DefaultConfiguration;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Hibernate's second-level cache: one bounded in-heap Ehcache region per cached entity, collection, natural id
+ * and query result set. Every application context gets its own cache manager, so no region outlives the
+ * database it was filled from. Nodes cache independently; entries expire after {@code ttlSec}, which bounds
+ * how long a node may serve an entity that was changed through another one.
+ */
+@Configuration
+public class HibernateCacheConfig {
+    private static final List<String> REGIONS = List.of(
+            Role.class.getName(),
+            User.class.getName(),
+            User.class.getName() + "." + User_.ROLES,
+            User.class.getName() + "##NaturalId",
+            Employee.class.getName(),
+            RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME);
+
+    @Value("${bakery.hibernateCache.maxEntries}")
+    private long maxEntries;
+    @Value("${bakery.hibernateCache.ttlSec}")
+    private long ttlSec;
+
+    @Bean
+    public CacheManager hibernateCacheManager() {
+        EhcacheCachingProvider provider =
+                (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(URI.create("urn:bakery:hibernate:" + UUID.randomUUID()),
+                new DefaultConfiguration(getClass().getClassLoader()));
+        CacheConfigurationBuilder<Object, Object> region = CacheConfigurationBuilder
+                .newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(maxEntries));
+        for (String name : REGIONS) {
+            cacheManager.createCache(name, Eh107Configuration.fromEhcacheCacheConfiguration(
+                    region.withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(ttlSec)))));
+            cacheManager.enableStatistics(name, true);
+        }
+        // holds one last-update time per table; cached query results are only trusted while it's complete
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                Eh107Configuration.fromEhcacheCacheConfiguration(region));
+        cacheManager.enableStatistics(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, true);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    @Bean
+    public MeterBinder hibernateCacheMetrics(CacheManager hibernateCacheManager) {
+        return registry -> hibernateCacheManager.getCacheNames().forEach(name ->
+                JCacheMetrics.monitor(registry, hibernateCacheManager.getCache(name)));
+    }
+}
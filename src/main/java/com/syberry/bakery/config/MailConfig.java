@@ -6,6 +6,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.JavaMailSenderImpl;
 
+import java.time.Duration;
 import java.util.Properties;
 
 @Configuration
@@ -24,10 +25,17 @@ public class MailConfig {
     private String auth;
     @Value("${bakery.mail.starttls}")
     private String starttls;
+    @Value("${bakery.mail.pool.maxConnections}")
+    private int maxConnections;
+    @Value("${bakery.mail.pool.idleTimeoutSec}")
+    private long idleTimeoutSec;
+    @Value("${bakery.mail.pool.maxMessagesPerConnection}")
+    private int maxMessagesPerConnection;
 
     @Bean
     public JavaMailSender javaMailSender() {
-        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        JavaMailSenderImpl mailSender = new PooledJavaMailSender(maxConnections,
+                Duration.ofSeconds(idleTimeoutSec), maxMessagesPerConnection);
         mailSender.setHost(host);
         mailSender.setPort(port);
         mailSender.setUsername(username);
@@ -0,0 +1,179 @@
+package com.syberry.bakery.config;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.lang.Nullable;
+import org.springframework.mail.MailAuthenticationException;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.mail.Address;
+import javax.mail.AuthenticationFailedException;
+import javax.mail.MessagingException;
+import javax.mail.Transport;
+import javax.mail.internet.MimeMessage;
+import java.time.Duration;
+import java.util.Date;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+
+/**
+ * {@link JavaMailSenderImpl} that keeps up to {@code maxConnections} connected and authenticated SMTP transports
+ * open between sends, instead of running connect, STARTTLS and AUTH for every message. Messages passed to a single
+ * {@code send(...)} call go out one after another over the same connection. A connection is dropped when it
+ * fails, has been idle longer than {@code idleTimeout}, or has carried {@code maxMessagesPerConnection} messages.
+ */
+public class PooledJavaMailSender extends JavaMailSenderImpl implements DisposableBean {
+    private static final String HEADER_MESSAGE_ID = "Message-ID";
+    private static final Duration VALIDATE_AFTER = Duration.ofSeconds(5);
+
+    private final Deque<PooledTransport> idle = new LinkedBlockingDeque<>();
+    private final Semaphore permits;
+    private final long idleTimeoutMs;
+    private final int maxMessagesPerConnection;
+
+    public PooledJavaMailSender(int maxConnections, Duration idleTimeout, int maxMessagesPerConnection) {
+        this.permits = new Semaphore(maxConnections, true);
+        this.idleTimeoutMs = idleTimeout.toMillis();
+        this.maxMessagesPerConnection = maxMessagesPerConnection;
+    }
+
+    @Override
+    protected void doSend(MimeMessage[] mimeMessages, @Nullable Object[] originalMessages) throws MailException {
+        Map<Object, Exception> failedMessages = new LinkedHashMap<>();
+        try {
+            permits.acquire();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new MailSendException("Interrupted while waiting for a mail server connection", ex);
+        }
+        PooledTransport transport = null;
+        try {
+            for (int i = 0; i < mimeMessages.length; i++) {
+                if (transport == null) {
+                    try {
+                        transport = borrow();
+                    } catch (AuthenticationFailedException ex) {
+                        throw new MailAuthenticationException(ex);
+                    } catch (Exception ex) {
+                        for (int j = i; j < mimeMessages.length; j++) {
+                            failedMessages.put(originalMessages != null ? originalMessages[j] : mimeMessages[j], ex);
+                        }
+                        throw new MailSendException("Mail server connection failed", ex, failedMessages);
+                    }
+                }
+                MimeMessage mimeMessage = mimeMessages[i];
+                try {
+                    if (mimeMessage.getSentDate() == null) {
+                        mimeMessage.setSentDate(new Date());
+                    }
+                    String messageId = mimeMessage.getMessageID();
+                    mimeMessage.saveChanges();
+                    if (messageId != null) {
+                        mimeMessage.setHeader(HEADER_MESSAGE_ID, messageId);
+                    }
+                    Address[] addresses = mimeMessage.getAllRecipients();
+                    if (addresses == null) {
+                        addresses = new Address[0];
+                    }
+                    try {
+                        transport.send(mimeMessage, addresses);
+                    } catch (MessagingException ex) {
+                        if (transport.sent == 0 || transport.isConnected()) {
+                            throw ex;
+                        }
+                        // the server dropped a pooled connection while it was idle, retry once on a fresh one
+                        close(transport);
+                        transport = null;
+                        transport = new PooledTransport(connectTransport());
+                        transport.send(mimeMessage, addresses);
+                    }
+                } catch (Exception ex) {
+                    failedMessages.put(originalMessages != null ? originalMessages[i] : mimeMessage, ex);
+                    if (transport != null && !transport.isConnected()) {
+                        close(transport);
+                        transport = null;
+                    }
+                }
+            }
+        } finally {
+            if (transport != null) {
+                release(transport);
+            }
+            permits.release();
+        }
+        if (!failedMessages.isEmpty()) {
+            throw new MailSendException(failedMessages);
+        }
+    }
+
+    private PooledTransport borrow() throws MessagingException {
+        PooledTransport transport;
+        while ((transport = idle.pollFirst()) != null) {
+            long idleMs = System.currentTimeMillis() - transport.lastUsed;
+            if (idleMs < idleTimeoutMs && (idleMs < VALIDATE_AFTER.toMillis() || transport.isConnected())) {
+                return transport;
+            }
+            close(transport);
+        }
+        return new PooledTransport(connectTransport());
+    }
+
+    private void release(PooledTransport transport) {
+        if (transport.sent >= maxMessagesPerConnection) {
+            close(transport);
+            return;
+        }
+        transport.lastUsed = System.currentTimeMillis();
+        idle.offerFirst(transport);
+    }
+
+    @Scheduled(fixedDelayString = "${bakery.mail.pool.evictionIntervalMs}")
+    public void evictIdle() {
+        long now = System.currentTimeMillis();
+        for (PooledTransport transport : idle) {
+            if (now - transport.lastUsed >= idleTimeoutMs && idle.remove(transport)) {
+                close(transport);
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        PooledTransport transport;
+        while ((transport = idle.pollFirst()) != null) {
+            close(transport);
+        }
+    }
+
+    private static void close(PooledTransport transport) {
+        try {
+            transport.transport.close();
+        } catch (MessagingException ignored) {
+            // the connection is being discarded anyway
+        }
+    }
+
+    private static class PooledTransport {
+        private final Transport transport;
+        private int sent;
+        private volatile long lastUsed = System.currentTimeMillis();
+
+        private PooledTransport(Transport transport) {
+            this.transport = transport;
+        }
+
+        private void send(MimeMessage message, Address[] addresses) throws MessagingException {
+            transport.sendMessage(message, addresses);
+            sent++;
+        }
+
+        private boolean isConnected() {
+            return transport.isConnected();
+        }
+    }
+}
@@ -3,12 +3,15 @@ package com.syberry.bakery.controller;
 import com.syberry.bakery.dto.CompensationDto;
 import com.syberry.bakery.dto.CompensationFilterDto;
 import com.syberry.bakery.dto.CompensationShortViewDto;
+import com.syberry.bakery.dto.CountMode;
 import com.syberry.bakery.dto.RoleName;
+import com.syberry.bakery.dto.SliceDto;
 import com.syberry.bakery.service.CompensationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -18,6 +21,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -35,10 +39,18 @@ public class CompensationController {
     private final CompensationService compensationService;
 
     @GetMapping
-    public Page<CompensationShortViewDto> getAllCompensations (
-            CompensationFilterDto filterDto, Pageable pageable) {
+    public Slice<CompensationShortViewDto> getAllCompensations (
+            CompensationFilterDto filterDto, Pageable pageable,
+            @RequestParam(defaultValue = "EXACT") CountMode count) {
         log.info("GET-request: getting all compensations");
-        return compensationService.getAllCompensations(filterDto, pageable);
+        return compensationService.getAllCompensations(filterDto, count, pageable);
+    }
+
+    @GetMapping(params = "cursor")
+    public SliceDto<CompensationShortViewDto> scrollAllCompensations (
+            @RequestParam(defaultValue = "") String cursor, CompensationFilterDto filterDto, Pageable pageable) {
+        log.info("GET-request: scrolling all compensations");
+        return compensationService.scrollAllCompensations(filterDto, cursor, pageable);
     }
 
     @GetMapping("/authorised")
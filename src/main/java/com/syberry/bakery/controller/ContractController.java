@@ -3,6 +3,7 @@ package com.syberry.bakery.controller;
 import com.syberry.bakery.dto.ContractFullDto;
 import com.syberry.bakery.dto.ContractSaveDto;
 import com.syberry.bakery.dto.ContractShortDto;
+import com.syberry.bakery.dto.SliceDto;
 import com.syberry.bakery.service.ContractService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -39,6 +40,14 @@ public class ContractController {
         return contractService.getAllContracts(pageable, name);
     }
 
+    @GetMapping(params = "cursor")
+    public SliceDto<ContractShortDto> scrollAllContracts(@RequestParam(defaultValue = "") String cursor,
+                                                         Pageable pageable,
+                                                         @RequestParam(defaultValue = "") String name) {
+        log.info("GET-request: scrolling all contracts");
+        return contractService.scrollAllContracts(cursor, pageable, name);
+    }
+
     @GetMapping("/{id}")
     public ContractFullDto getContractById(@PathVariable("id") Long id) {
         log.info("GET-request: getting contract with id: {}", id);
@@ -2,6 +2,7 @@ package com.syberry.bakery.controller;
 
 import com.syberry.bakery.dto.EmployeeDto;
 import com.syberry.bakery.dto.EmployeeShortViewDto;
+import com.syberry.bakery.dto.SliceDto;
 import com.syberry.bakery.service.EmployeeService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -39,6 +40,15 @@ public class EmployeeController {
         return employeeService.getAllEmployees(pageable, name);
     }
 
+    @GetMapping(params = "cursor")
+    public SliceDto<EmployeeShortViewDto> scrollAllEmployees (
+            @RequestParam(defaultValue = "") String cursor,
+            Pageable pageable,
+            @RequestParam(defaultValue = "") String name) {
+        log.info("GET-request: scrolling all employees");
+        return employeeService.scrollAllEmployees(cursor, pageable, name);
+    }
+
     @GetMapping("/{id}")
     public EmployeeDto getEmployeeById(@PathVariable("id") Long id) {
         log.info("GET-request: getting employee with id: {}", id);
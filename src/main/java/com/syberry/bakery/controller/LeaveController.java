@@ -1,15 +1,17 @@
 package com.syberry.bakery.controller;
 
+import com.syberry.bakery.dto.CountMode;
 import com.syberry.bakery.dto.LeaveFullDto;
 import com.syberry.bakery.dto.LeaveSaveDto;
 import com.syberry.bakery.dto.LeaveShortDto;
 import com.syberry.bakery.dto.LeaveStatus;
 import com.syberry.bakery.dto.LeaveType;
+import com.syberry.bakery.dto.SliceDto;
 import com.syberry.bakery.service.LeaveService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -35,12 +37,23 @@ public class LeaveController {
     private final LeaveService leaveService;
 
     @GetMapping
-    public Page<LeaveShortDto> getAllLeaves(Pageable pageable,
-                                            @RequestParam(defaultValue = "") String name,
-                                            @RequestParam(required = false) List<LeaveType> leaveTypes,
-                                            @RequestParam(required = false) List<LeaveStatus> leaveStatuses) {
+    public Slice<LeaveShortDto> getAllLeaves(Pageable pageable,
+                                             @RequestParam(defaultValue = "EXACT") CountMode count,
+                                             @RequestParam(defaultValue = "") String name,
+                                             @RequestParam(required = false) List<LeaveType> leaveTypes,
+                                             @RequestParam(required = false) List<LeaveStatus> leaveStatuses) {
         log.info("GET-request: getting all leaves");
-        return leaveService.getAll(pageable, name, leaveTypes, leaveStatuses);
+        return leaveService.getAll(pageable, count, name, leaveTypes, leaveStatuses);
+    }
+
+    @GetMapping(params = "cursor")
+    public SliceDto<LeaveShortDto> scrollAllLeaves(@RequestParam(defaultValue = "") String cursor,
+                                                   Pageable pageable,
+                                                   @RequestParam(defaultValue = "") String name,
+                                                   @RequestParam(required = false) List<LeaveType> leaveTypes,
+                                                   @RequestParam(required = false) List<LeaveStatus> leaveStatuses) {
+        log.info("GET-request: scrolling all leaves");
+        return leaveService.scrollAll(cursor, pageable, name, leaveTypes, leaveStatuses);
     }
 
     @GetMapping("/employees/{id}")
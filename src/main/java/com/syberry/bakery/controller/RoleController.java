@@ -5,6 +5,8 @@ import com.syberry.bakery.dto.UserDto;
 import com.syberry.bakery.service.RoleService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -42,4 +44,10 @@ public class RoleController {
         log.info("Retrieving role by id from database");
         return roleService.getRoleById(id);
     }
+
+    @GetMapping("/roles/{id}/users")
+    public Page<UserDto> getUsersInRole(@PathVariable Long id, Pageable pageable) {
+        log.info("Retrieving users with role id: {}", id);
+        return roleService.getUsersInRole(id, pageable);
+    }
 }
@@ -1,13 +1,15 @@
 package com.syberry.bakery.controller;
 
+import com.syberry.bakery.dto.CountMode;
 import com.syberry.bakery.dto.SignUpRequestDto;
+import com.syberry.bakery.dto.SliceDto;
 import com.syberry.bakery.dto.UserDto;
 import com.syberry.bakery.dto.UsersFilterDto;
 import com.syberry.bakery.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -32,9 +34,17 @@ public class UserController {
     private final UserService userService;
 
     @GetMapping
-    public Page<UserDto> getAllUsers(Pageable pageable, UsersFilterDto usersFilterDto) {
+    public Slice<UserDto> getAllUsers(Pageable pageable, @RequestParam(defaultValue = "EXACT") CountMode count,
+                                      UsersFilterDto usersFilterDto) {
         log.info("Retrieving all users");
-        return userService.getAllUsers(pageable, usersFilterDto);
+        return userService.getAllUsers(pageable, count, usersFilterDto);
+    }
+
+    @GetMapping(params = "cursor")
+    public SliceDto<UserDto> scrollAllUsers(@RequestParam(defaultValue = "") String cursor, Pageable pageable,
+                                            UsersFilterDto usersFilterDto) {
+        log.info("Scrolling all users");
+        return userService.scrollAllUsers(cursor, pageable, usersFilterDto);
     }
 
     @GetMapping("/{id}")
@@ -1,6 +1,7 @@
 package com.syberry.bakery.converter;
 
 import com.syberry.bakery.dto.CompensationDto;
+import com.syberry.bakery.dto.CompensationNeighbours;
 import com.syberry.bakery.dto.CompensationShortViewDto;
 import com.syberry.bakery.entity.Compensation;
 import com.syberry.bakery.repository.CompensationRepository;
@@ -8,7 +9,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.Optional;
 
 @Component
 @RequiredArgsConstructor
@@ -35,6 +36,8 @@ public class CompensationConverter {
     }
 
     public CompensationDto convertToDto(Compensation compensation) {
+        Optional<CompensationNeighbours> neighbours = compensationRepository
+                .findNeighbourIds(compensation.getId(), compensation.getEmployee().getId());
         return CompensationDto.builder()
                 .id(compensation.getId())
                 .amount(compensation.getAmount())
@@ -42,25 +45,11 @@ public class CompensationConverter {
                 .validUntil(compensation.getValidUntil())
                 .specialConditions(compensation.getSpecialConditions())
                 .employeeId(compensation.getEmployee().getId())
-                .previousCompensationId(findPreviousEmployeeCompensation(compensation))
-                .nextCompensationId(findNextEmployeeCompensation(compensation))
+                .previousCompensationId(neighbours.map(CompensationNeighbours::getPreviousId).orElse(null))
+                .nextCompensationId(neighbours.map(CompensationNeighbours::getNextId).orElse(null))
                 .build();
     }
 
-    private Long findPreviousEmployeeCompensation(Compensation compensation) {
-        List<Compensation> list = compensationRepository
-                .findByNotBlockedAndIdLessThanAndEmployeeId(compensation.getId(),
-                        compensation.getEmployee().getId());
-        return  !list.isEmpty() ? list.get(list.size() - 1).getId() : null;
-    }
-
-    private Long findNextEmployeeCompensation(Compensation compensation) {
-        List<Compensation> list = compensationRepository
-                .findByNotBlockedAndIdGreaterThanAndEmployeeId(compensation.getId(),
-                        compensation.getEmployee().getId());
-        return !list.isEmpty()? list.get(0).getId() : null;
-    }
-
     public CompensationShortViewDto convertToShortViewDto(Compensation compensation) {
         return CompensationShortViewDto.builder()
                 .id(compensation.getId())
@@ -16,7 +16,7 @@ public class ContractConverter {
     public Contract toEntity(ContractSaveDto dto, EmployeeRepository employeeRepository) {
         return new Contract(
                 dto.getId(),
-                employeeRepository.findByIdAndUserIsBlockedFalse(dto.getEmployeeId())
+                employeeRepository.findByIdAndActiveTrue(dto.getEmployeeId())
                         .orElseThrow(() -> new EntityNotFoundException("There is no such employee")),
                 dto.getPosition(),
                 dto.getDateOfSignature(),
@@ -33,7 +33,8 @@ public class ContractConverter {
                 entity.getEmployee().getUser().getFirstName(),
                 entity.getEmployee().getUser().getLastName(),
                 entity.getContractStartDate(),
-                entity.getContractEndDate());
+                entity.getContractEndDate(),
+                entity.getId());
     }
 
     public ContractFullDto toFullInfoDto(Contract entity) {
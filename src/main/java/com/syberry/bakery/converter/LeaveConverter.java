@@ -5,9 +5,10 @@ import com.syberry.bakery.dto.LeaveSaveDto;
 import com.syberry.bakery.dto.LeaveShortDto;
 import com.syberry.bakery.dto.LeaveType;
 import com.syberry.bakery.entity.Leave;
+import com.syberry.bakery.entity.LeaveBalance;
 import com.syberry.bakery.exception.EntityNotFoundException;
 import com.syberry.bakery.repository.EmployeeRepository;
-import com.syberry.bakery.util.LeaveUtil;
+import com.syberry.bakery.util.LeaveBalanceLedger;
 import lombok.experimental.UtilityClass;
 
 import static java.time.temporal.ChronoUnit.DAYS;
@@ -18,7 +19,7 @@ public class LeaveConverter {
     public Leave toEntity(LeaveSaveDto dto, EmployeeRepository employeeRepository) {
         return Leave.builder()
                 .id(dto.getId())
-                .employee(employeeRepository.findByIdAndUserIsBlockedFalse(dto.getEmployeeId())
+                .employee(employeeRepository.findByIdAndActiveTrue(dto.getEmployeeId())
                         .orElseThrow(() -> new EntityNotFoundException("There is no such employee")))
                 .leaveType(dto.getLeaveType())
                 .leaveStartDate(dto.getLeaveStartDate())
@@ -37,10 +38,11 @@ public class LeaveConverter {
                 entity.getLeaveStatus());
     }
 
-    public LeaveFullDto toFullDto(Leave entity, LeaveUtil leaveUtil) {
+    public LeaveFullDto toFullDto(Leave entity, LeaveBalanceLedger leaveBalanceLedger) {
         int leaveDuration = (int) DAYS.between(entity.getLeaveStartDate(), entity.getLeaveEndDate()) + 1;
-        int remainingSickDays = leaveUtil.getRemainingDays(entity, LeaveType.SICK_DAY);
-        int remainingPaidLeaveDays = leaveUtil.getRemainingDays(entity, LeaveType.PAID_LEAVE);
+        LeaveBalance balance = leaveBalanceLedger.getCurrentBalance(entity.getEmployee().getId());
+        int remainingSickDays = leaveBalanceLedger.getRemainingDays(balance, LeaveType.SICK_DAY);
+        int remainingPaidLeaveDays = leaveBalanceLedger.getRemainingDays(balance, LeaveType.PAID_LEAVE);
         return new LeaveFullDto(entity.getId(),
                 entity.getLeaveType(),
                 entity.getLeaveStartDate(),
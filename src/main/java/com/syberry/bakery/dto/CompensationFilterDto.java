@@ -6,22 +6,23 @@ import lombok.NoArgsConstructor;
 
 import java.time.LocalDate;
 
+/**
+ * Filter of compensation listings. A missing bound leaves that side of the range open
+ * and adds no predicate to the query.
+ */
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class CompensationFilterDto {
 
-    private static final LocalDate DEFAULT_START_DATE = LocalDate.of(2000, 1, 1);
-    private static final LocalDate DEFAULT_END_DATE = LocalDate.of(3000, 1, 1);
-
     private String name = "";
-    private float amountStart = 0;
-    private float amountEnd = 1000000000;
-    private LocalDate effectiveFromStart = DEFAULT_START_DATE;
-    private LocalDate effectiveFromEnd = DEFAULT_END_DATE;
-    private LocalDate validUntilStart = DEFAULT_START_DATE;
-    private LocalDate validUntilEnd = DEFAULT_END_DATE;
+    private Float amountStart;
+    private Float amountEnd;
+    private LocalDate effectiveFromStart;
+    private LocalDate effectiveFromEnd;
+    private LocalDate validUntilStart;
+    private LocalDate validUntilEnd;
     private Boolean isUpdated = null;
-    private LocalDate updatedAtStart = DEFAULT_START_DATE;
-    private LocalDate updatedAtEnd = DEFAULT_END_DATE;
+    private LocalDate updatedAtStart;
+    private LocalDate updatedAtEnd;
 }
@@ -0,0 +1,7 @@
+package com.syberry.bakery.dto;
+
+public interface CompensationNeighbours {
+    Long getPreviousId();
+
+    Long getNextId();
+}
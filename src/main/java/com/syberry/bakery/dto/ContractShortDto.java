@@ -16,4 +16,5 @@ public class ContractShortDto {
     private String lastName;
     private LocalDate contractStartDate;
     private LocalDate contractEndDate;
+    private Long contractId;
 }
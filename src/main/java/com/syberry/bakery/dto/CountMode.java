@@ -0,0 +1,7 @@
+package com.syberry.bakery.dto;
+
+public enum CountMode {
+    EXACT,
+    APPROXIMATE,
+    NONE
+}
@@ -0,0 +1,22 @@
+package com.syberry.bakery.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SliceDto<T> {
+
+    private List<T> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+
+    public static <T> SliceDto<T> empty(int size) {
+        return new SliceDto<>(List.of(), size, false, null);
+    }
+}
@@ -3,22 +3,29 @@ package com.syberry.bakery.entity;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
-import javax.persistence.Table;
+import javax.persistence.NamedAttributeNode;
+import javax.persistence.NamedEntityGraph;
+import javax.persistence.NamedSubgraph;
 import javax.validation.constraints.NotNull;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table
+@NamedEntityGraph(name = "Compensation.employeeUser",
+        attributeNodes = @NamedAttributeNode(value = "employee", subgraph = "employee"),
+        subgraphs = @NamedSubgraph(name = "employee", attributeNodes = @NamedAttributeNode("user")))
 @Data
 @Builder
 @NoArgsConstructor
@@ -46,8 +53,10 @@ public class Compensation {
     @Column(name = "special_conditions", length = 500)
     private String specialConditions;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "employee_id", referencedColumnName = "id")
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     private Employee employee;
 
     @NotNull
@@ -0,0 +1,42 @@
+package com.syberry.bakery.entity;
+
+import com.syberry.bakery.dto.LeaveType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.EmbeddedId;
+import javax.persistence.Entity;
+import javax.persistence.Table;
+
+/**
+ * Days of sick and paid leave an employee has taken in the entitlement year starting at {@code yearStart}.
+ */
+@Entity
+@Table(name = "leave_balance")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaveBalance {
+    @EmbeddedId
+    private LeaveBalanceId id;
+
+    @Column(name = "sick_days_used", nullable = false)
+    private int sickDaysUsed;
+
+    @Column(name = "paid_days_used", nullable = false)
+    private int paidDaysUsed;
+
+    public int getUsedDays(LeaveType leaveType) {
+        return leaveType == LeaveType.SICK_DAY ? sickDaysUsed : paidDaysUsed;
+    }
+
+    public void addUsedDays(LeaveType leaveType, int days) {
+        if (leaveType == LeaveType.SICK_DAY) {
+            sickDaysUsed += days;
+        } else {
+            paidDaysUsed += days;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.syberry.bakery.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Embeddable;
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaveBalanceId implements Serializable {
+    @Column(name = "employee_id", nullable = false)
+    private Long employeeId;
+
+    @Column(name = "year_start", nullable = false)
+    private LocalDate yearStart;
+}
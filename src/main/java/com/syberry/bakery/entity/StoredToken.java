@@ -0,0 +1,28 @@
+package com.syberry.bakery.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.time.Instant;
+
+@Entity
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "token_store")
+public class StoredToken {
+    @Id
+    @Column(name = "token_key", length = 100)
+    private String key;
+    @Column(name = "token_value", nullable = false)
+    private String value;
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+}
@@ -4,24 +4,33 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
-import org.hibernate.annotations.Fetch;
-import org.hibernate.annotations.FetchMode;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
-import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.JoinTable;
 import javax.persistence.ManyToMany;
+import javax.persistence.NamedAttributeNode;
+import javax.persistence.NamedEntityGraph;
 import javax.persistence.Table;
 import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@NaturalIdCache
+@NamedEntityGraph(name = "User.roles", attributeNodes = @NamedAttributeNode("roles"))
 @Table(name="users")
 @Data
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
@@ -30,11 +39,13 @@ import java.util.Set;
 public class User {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @EqualsAndHashCode.Include
     private Long id;
     @Column(nullable = false, length = 50)
     private String firstName;
     @Column(nullable = false, length = 50)
     private String lastName;
+    @NaturalId(mutable = true)
     @Column(nullable = false, length = 50, unique = true)
     private String email;
     private String password;
@@ -46,9 +57,12 @@ public class User {
     private LocalDateTime disabledAt;
     @Column(name = "is_2fa_enabled", nullable = false, columnDefinition = "boolean default true")
     private boolean is2faEnabled = true;
+    @Column(name = "security_version", nullable = false, columnDefinition = "bigint default 0")
+    private long securityVersion = 0;
 
-    @ManyToMany(fetch = FetchType.EAGER)
-    @Fetch(value= FetchMode.SELECT)
+    @ManyToMany
+    @BatchSize(size = 100)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @JoinTable(name = "user_roles",
             joinColumns = @JoinColumn(name = "user_id"),
             inverseJoinColumns = @JoinColumn(name = "role_id"))
@@ -0,0 +1,126 @@
+package com.syberry.bakery.job;
+
+import com.syberry.bakery.dto.EmailDetails;
+import com.syberry.bakery.dto.OutboxStatus;
+import com.syberry.bakery.entity.EmailOutbox;
+import com.syberry.bakery.repository.EmailOutboxRepository;
+import com.syberry.bakery.service.EmailService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Drains the email outbox in the background. A message is claimed with a conditional update before it is
+ * handed to the worker pool, so several nodes can poll the same table without sending anything twice.
+ */
+@Component
+@Slf4j
+public class EmailOutboxDispatcher {
+    private static final List<OutboxStatus> DUE_STATUSES = List.of(OutboxStatus.PENDING, OutboxStatus.SENDING);
+    private static final int MAX_ERROR_LENGTH = 255;
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final EmailService emailService;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskExecutor executor;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration lease;
+
+    public EmailOutboxDispatcher(EmailOutboxRepository emailOutboxRepository,
+                                 EmailService emailService,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${bakery.mail.outbox.concurrency}") int concurrency,
+                                 @Value("${bakery.mail.outbox.batchSize}") int batchSize,
+                                 @Value("${bakery.mail.outbox.maxAttempts}") int maxAttempts,
+                                 @Value("${bakery.mail.outbox.initialBackoffMs}") long initialBackoffMs,
+                                 @Value("${bakery.mail.outbox.maxBackoffMs}") long maxBackoffMs,
+                                 @Value("${bakery.mail.outbox.leaseSec}") long leaseSec,
+                                 @Value("${bakery.mail.outbox.shutdownTimeoutSec}") int shutdownTimeoutSec) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.emailService = emailService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = Duration.ofMillis(initialBackoffMs);
+        this.maxBackoff = Duration.ofMillis(maxBackoffMs);
+        this.lease = Duration.ofSeconds(leaseSec);
+        this.executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("email-outbox-");
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setQueueCapacity(batchSize);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(shutdownTimeoutSec);
+        executor.initialize();
+    }
+
+    @Scheduled(fixedDelayString = "${bakery.mail.outbox.pollDelayMs}")
+    public void dispatch() {
+        int capacity = executor.getThreadPoolExecutor().getQueue().remainingCapacity();
+        if (capacity == 0) {
+            return;
+        }
+        Instant now = Instant.now();
+        List<EmailOutbox> dueEmails = emailOutboxRepository
+                .findByNextAttemptAtLessThanEqualAndStatusInOrderByNextAttemptAt(now, DUE_STATUSES,
+                        PageRequest.of(0, capacity));
+        for (EmailOutbox email : dueEmails) {
+            Integer claimed = transactionTemplate.execute(status -> emailOutboxRepository
+                    .claim(email.getId(), email.getStatus(), now, now.plus(lease)));
+            if (claimed != null && claimed == 1) {
+                executor.execute(() -> deliver(email));
+            }
+        }
+    }
+
+    void deliver(EmailOutbox email) {
+        try {
+            emailService.sendEmail(new EmailDetails(email.getRecipient(), email.getMsgBody(), email.getSubject()));
+        } catch (RuntimeException e) {
+            log.warn("Failed to send email {} to {}: {}", email.getId(), email.getRecipient(), e.getMessage());
+            transactionTemplate.executeWithoutResult(status -> reschedule(email.getId(), e));
+            return;
+        }
+        emailOutboxRepository.deleteById(email.getId());
+    }
+
+    private void reschedule(Long id, RuntimeException cause) {
+        emailOutboxRepository.findById(id).ifPresent(email -> {
+            String error = String.valueOf(cause.getMessage());
+            email.setLastError(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+            if (email.getAttempts() >= maxAttempts) {
+                log.error("Giving up on email {} to {} after {} attempts", id, email.getRecipient(), email.getAttempts());
+                email.setStatus(OutboxStatus.FAILED);
+                return;
+            }
+            email.setStatus(OutboxStatus.PENDING);
+            email.setNextAttemptAt(Instant.now().plus(backoff(email.getAttempts())));
+        });
+    }
+
+    Duration backoff(int attempts) {
+        int exponent = Math.min(Math.max(attempts - 1, 0), 30);
+        Duration delay = initialBackoff.multipliedBy(1L << exponent);
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    /**
+     * Lets messages that are already claimed finish before the context closes. Anything still
+     * leased after the timeout is picked up again once its lease expires.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,63 @@
+package com.syberry.bakery.job;
+
+import com.syberry.bakery.repository.LeaveBalanceRepository;
+import com.syberry.bakery.repository.LeaveRepository;
+import com.syberry.bakery.util.LeaveBalanceLedger;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Recomputes the leave balance ledger from the leaves, one employee per transaction. Besides repairing
+ * drift, this moves balances to a new entitlement anchor when a contract ends and the next one takes over,
+ * which no write announces.
+ */
+@Component
+@Slf4j
+public class LeaveBalanceRebuildJob {
+    private final LeaveBalanceLedger leaveBalanceLedger;
+    private final LeaveRepository leaveRepository;
+    private final LeaveBalanceRepository leaveBalanceRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Timer rebuildTimer;
+
+    public LeaveBalanceRebuildJob(LeaveBalanceLedger leaveBalanceLedger,
+                                  LeaveRepository leaveRepository,
+                                  LeaveBalanceRepository leaveBalanceRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  MeterRegistry meterRegistry) {
+        this.leaveBalanceLedger = leaveBalanceLedger;
+        this.leaveRepository = leaveRepository;
+        this.leaveBalanceRepository = leaveBalanceRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.rebuildTimer = Timer.builder("leave_balances.rebuild")
+                .description("Duration of a leave balance ledger rebuild")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${bakery.leave.balanceRebuildDelayMs}",
+            initialDelayString = "${bakery.leave.balanceRebuildDelayMs}")
+    public void rebuildAll() {
+        int rebuilt = rebuildTimer.record(this::rebuildEmployees);
+        log.info("Rebuilt leave balances of {} employees", rebuilt);
+    }
+
+    private int rebuildEmployees() {
+        Set<Long> employeeIds = new TreeSet<>(leaveRepository.findEmployeeIdsByLeaveTypeIn(LeaveBalanceLedger.COUNTED_TYPES));
+        employeeIds.addAll(leaveBalanceRepository.findEmployeeIds());
+        for (Long employeeId : employeeIds) {
+            transactionTemplate.executeWithoutResult(status -> leaveBalanceLedger.rebuild(employeeId));
+        }
+        return employeeIds.size();
+    }
+}
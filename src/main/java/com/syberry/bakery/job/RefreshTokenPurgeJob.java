@@ -0,0 +1,71 @@
+package com.syberry.bakery.job;
+
+import com.syberry.bakery.repository.RefreshTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Deletes expired refresh tokens in chunks of {@code refreshTokenPurgeChunkSize}, each in its own short
+ * transaction. The delete checks the expiry again, so a token renewed in place by a login after it was
+ * selected is kept, and nodes running the job at the same time only skip rows the other one already removed.
+ */
+@Component
+@Slf4j
+public class RefreshTokenPurgeJob {
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final Counter purgedCounter;
+    private final Timer purgeTimer;
+
+    public RefreshTokenPurgeJob(RefreshTokenRepository refreshTokenRepository,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${bakery.security.refreshTokenPurgeChunkSize}") int chunkSize,
+                                MeterRegistry meterRegistry) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.purgedCounter = Counter.builder("refresh_tokens.purged")
+                .description("Expired refresh tokens deleted by the purge job")
+                .register(meterRegistry);
+        this.purgeTimer = Timer.builder("refresh_tokens.purge")
+                .description("Duration of a refresh token purge run")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${bakery.security.refreshTokenPurgeDelayMs}",
+            initialDelayString = "${bakery.security.refreshTokenPurgeDelayMs}")
+    public void purgeExpired() {
+        long removed = purgeTimer.record(this::purgeChunks);
+        if (removed > 0) {
+            log.info("Removed {} expired refresh tokens", removed);
+        }
+    }
+
+    private long purgeChunks() {
+        Instant now = Instant.now();
+        long removed = 0;
+        List<Long> ids;
+        do {
+            ids = refreshTokenRepository.findExpiredIds(now, PageRequest.of(0, chunkSize));
+            if (!ids.isEmpty()) {
+                List<Long> chunk = ids;
+                Integer deleted = transactionTemplate.execute(status -> refreshTokenRepository.deleteExpiredByIdIn(chunk, now));
+                removed += deleted == null ? 0 : deleted;
+                purgedCounter.increment(deleted == null ? 0 : deleted);
+            }
+        } while (ids.size() == chunkSize);
+        return removed;
+    }
+}
@@ -1,6 +1,9 @@
 package com.syberry.bakery.repository;
 
+import com.syberry.bakery.dto.CompensationNeighbours;
 import com.syberry.bakery.entity.Compensation;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
@@ -11,26 +14,23 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface CompensationRepository extends JpaRepository<Compensation, Long>, JpaSpecificationExecutor<Compensation> {
+public interface CompensationRepository extends JpaRepository<Compensation, Long>, JpaSpecificationExecutor<Compensation>,
+        CompensationRepositoryCustom {
 
-    Optional<Compensation> findByIdAndEmployeeUserIsBlockedFalse(Long id);
+    @EntityGraph("Compensation.employeeUser")
+    Optional<Compensation> findByIdAndEmployeeActiveTrue(Long id);
 
     @Query("""
-            select c from Compensation c
-            where c.employee.id = :employeeId
-            and (:effectiveFrom between c.effectiveFrom and c.validUntil
-            or :validUntil between c.effectiveFrom and c.validUntil)""")
-    List<Compensation> findByDatesCrossingInEmployee(Long employeeId, LocalDate effectiveFrom, LocalDate validUntil);
+            select c.id from Compensation c
+            where c.employee.id = :employeeId and c.effectiveFrom <= :end and c.validUntil >= :start
+            and (:excludedId is null or c.id <> :excludedId)""")
+    List<Long> findOverlappingIds(Long employeeId, Long excludedId, LocalDate start, LocalDate end, Pageable pageable);
 
-    @Query("""
-            select c from Compensation c
-            where c.employee.user.isBlocked = false
-            and c.id < :id and c.employee.id = :employeeId""")
-    List<Compensation> findByNotBlockedAndIdLessThanAndEmployeeId(Long id, Long employeeId);
-
-    @Query("""
-            select c from Compensation c
-            where c.employee.user.isBlocked = false
-            and c.id > :id and c.employee.id = :employeeId""")
-    List<Compensation> findByNotBlockedAndIdGreaterThanAndEmployeeId(Long id, Long employeeId);
+    @Query(value = """
+            select
+            (select max(c.id) from compensation c where c.employee_id = :employeeId and c.id < :id) as previousId,
+            (select min(c.id) from compensation c where c.employee_id = :employeeId and c.id > :id) as nextId
+            from employee e
+            where e.id = :employeeId and e.active = true""", nativeQuery = true)
+    Optional<CompensationNeighbours> findNeighbourIds(Long id, Long employeeId);
 }
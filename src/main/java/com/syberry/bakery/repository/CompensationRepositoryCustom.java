@@ -0,0 +1,20 @@
+package com.syberry.bakery.repository;
+
+import com.syberry.bakery.dto.CompensationShortViewDto;
+import com.syberry.bakery.dto.SliceDto;
+import com.syberry.bakery.entity.Compensation;
+import com.syberry.bakery.util.KeysetCursor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+public interface CompensationRepositoryCustom {
+
+    Page<CompensationShortViewDto> findAllShortViews(Specification<Compensation> specification, Pageable pageable);
+
+    Slice<CompensationShortViewDto> findAllShortViewsAsSlice(Specification<Compensation> specification, Pageable pageable);
+
+    SliceDto<CompensationShortViewDto> findSliceShortViews(Specification<Compensation> specification,
+                                                           KeysetCursor cursor, int size);
+}
@@ -0,0 +1,68 @@
+package com.syberry.bakery.repository;
+
+import com.syberry.bakery.dto.CompensationShortViewDto;
+import com.syberry.bakery.dto.SliceDto;
+import com.syberry.bakery.entity.Compensation;
+import com.syberry.bakery.entity.Compensation_;
+import com.syberry.bakery.entity.Employee_;
+import com.syberry.bakery.entity.User_;
+import com.syberry.bakery.util.KeysetCursor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CompoundSelection;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Root;
+import java.util.Map;
+import java.util.function.Function;
+
+@RequiredArgsConstructor
+public class CompensationRepositoryCustomImpl implements CompensationRepositoryCustom {
+    private static final Map<String, Function<CompensationShortViewDto, ?>> SORT_KEYS = Map.of(
+            Compensation_.ID, CompensationShortViewDto::getId,
+            Compensation_.EFFECTIVE_FROM, CompensationShortViewDto::getEffectiveFrom,
+            Compensation_.VALID_UNTIL, CompensationShortViewDto::getValidUntil,
+            Compensation_.AMOUNT, CompensationShortViewDto::getAmount);
+
+    private final EntityManager entityManager;
+
+    @Override
+    public Page<CompensationShortViewDto> findAllShortViews(Specification<Compensation> specification,
+                                                            Pageable pageable) {
+        return SpecificationProjections.findAll(entityManager, Compensation.class, CompensationShortViewDto.class,
+                specification, this::selectShortView, pageable);
+    }
+
+    @Override
+    public Slice<CompensationShortViewDto> findAllShortViewsAsSlice(Specification<Compensation> specification, Pageable pageable) {
+        return SpecificationProjections.findAllAsSlice(entityManager, Compensation.class, CompensationShortViewDto.class, specification,
+                this::selectShortView, pageable);
+    }
+
+    @Override
+    public SliceDto<CompensationShortViewDto> findSliceShortViews(Specification<Compensation> specification,
+                                                                  KeysetCursor cursor, int size) {
+        return SpecificationProjections.findSlice(entityManager, Compensation.class, CompensationShortViewDto.class,
+                specification, this::selectShortView, SORT_KEYS, CompensationShortViewDto::getId, cursor, size);
+    }
+
+    private CompoundSelection<CompensationShortViewDto> selectShortView(Root<Compensation> root,
+                                                                        CriteriaBuilder criteriaBuilder) {
+        Path<Object> employee = root.get(Compensation_.EMPLOYEE);
+        Path<Object> user = employee.get(Employee_.USER);
+        return criteriaBuilder.construct(CompensationShortViewDto.class,
+                root.get(Compensation_.ID),
+                user.get(User_.FIRST_NAME),
+                user.get(User_.LAST_NAME),
+                employee.get(Employee_.ID),
+                root.get(Compensation_.EFFECTIVE_FROM),
+                root.get(Compensation_.VALID_UNTIL),
+                root.get(Compensation_.UPDATED_AT),
+                root.get(Compensation_.AMOUNT));
+    }
+}
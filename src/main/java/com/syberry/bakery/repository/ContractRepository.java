@@ -1,8 +1,10 @@
 package com.syberry.bakery.repository;
 
+import com.syberry.bakery.dto.ContractShortDto;
 import com.syberry.bakery.entity.Contract;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
@@ -12,25 +14,49 @@ import java.util.Optional;
 
 public interface ContractRepository extends JpaRepository<Contract, Long> {
 
+    @Query(value = """
+            select new com.syberry.bakery.dto.ContractShortDto(e.id, u.firstName, u.lastName, c.contractStartDate, c.contractEndDate, c.id)
+            from Contract c inner join c.employee e inner join e.user u
+            where lower (concat(u.firstName, ' ', u.lastName)) like lower(concat('%',:name,'%'))
+            and e.active = true""",
+            countQuery = """
+            select count(c) from Contract c inner join c.employee e inner join e.user u
+            where lower (concat(u.firstName, ' ', u.lastName)) like lower(concat('%',:name,'%'))
+            and e.active = true""")
+    Page<ContractShortDto> findByEmployeeActiveTrueAndFilterIn(Pageable pageable, String name);
+
     @Query("""
-            select c from Contract c
-            where lower (concat(c.employee.user.firstName, ' ', c.employee.user.lastName)) like lower(concat('%',:name,'%'))
-            and c.employee.user.isBlocked = false""")
-    Page<Contract> findByEmployeeIsBlockedFalseAndFilterIn(Pageable pageable, String name);
+            select new com.syberry.bakery.dto.ContractShortDto(e.id, u.firstName, u.lastName, c.contractStartDate, c.contractEndDate, c.id)
+            from Contract c inner join c.employee e inner join e.user u
+            where c.id > :afterId
+            and lower (concat(u.firstName, ' ', u.lastName)) like lower(concat('%',:name,'%'))
+            and e.active = true
+            order by c.id""")
+    List<ContractShortDto> findByIdGreaterThanAndEmployeeActiveTrueAndFilterIn(long afterId, String name,
+                                                                               Pageable pageable);
+
+    @EntityGraph("Contract.employeeUser")
+    Optional<Contract> findByIdAndEmployeeActiveTrue(Long id);
 
-    Optional<Contract> findByIdAndEmployeeUserIsBlockedFalse(Long id);
+    List<Contract> findByEmployeeIdAndEmployeeActiveTrue(Long id);
 
-    List<Contract> findByEmployeeIdAndEmployeeUserIsBlockedFalse(Long id);
+    @Query("""
+            select new com.syberry.bakery.dto.ContractShortDto(e.id, u.firstName, u.lastName, c.contractStartDate, c.contractEndDate, c.id)
+            from Contract c inner join c.employee e inner join e.user u
+            where e.id = :id and e.active = true""")
+    List<ContractShortDto> findShortByEmployeeIdAndEmployeeActiveTrue(Long id);
 
-    List<Contract> findByEmployeeUserEmailAndEmployeeUserIsBlockedFalse(String email);
+    @Query("""
+            select new com.syberry.bakery.dto.ContractShortDto(e.id, u.firstName, u.lastName, c.contractStartDate, c.contractEndDate, c.id)
+            from Contract c inner join c.employee e inner join e.user u
+            where u.email = :email and e.active = true""")
+    List<ContractShortDto> findShortByEmployeeUserEmailAndEmployeeActiveTrue(String email);
 
     Optional<Contract> findByEmployeeIdAndContractEndDateGreaterThan(Long id, LocalDate contractEndDate);
 
     @Query("""
-            select c from Contract c
-            where c.employee.id = ?1
-            and c.employee.user.isBlocked = false
-            and ((c.contractStartDate between ?2 and ?3 or c.contractEndDate between ?2 and ?3)
-            or (c.contractStartDate <= ?2 and c.contractEndDate >= ?3))""")
-    List<Contract> findByEmployeeIdAndContractStartDateOrContractEndDateBetween(Long id, LocalDate contractStartDate, LocalDate contractEndDate);
+            select c.id from Contract c
+            where c.employee.id = :employeeId and c.contractStartDate <= :end and c.contractEndDate >= :start
+            and (:excludedId is null or c.id <> :excludedId)""")
+    List<Long> findOverlappingIds(Long employeeId, Long excludedId, LocalDate start, LocalDate end, Pageable pageable);
 }
@@ -0,0 +1,29 @@
+package com.syberry.bakery.repository;
+
+import com.syberry.bakery.dto.OutboxStatus;
+import com.syberry.bakery.entity.EmailOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+    List<EmailOutbox> findByNextAttemptAtLessThanEqualAndStatusInOrderByNextAttemptAt(
+            Instant now, Collection<OutboxStatus> statuses, Pageable pageable);
+
+    /**
+     * Moves a due message to SENDING and leases it until {@code leaseUntil}. Returns 0 when another
+     * dispatcher claimed it first; a lease that runs out (e.g. the node died) makes the row due again.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("update EmailOutbox e set e.status = com.syberry.bakery.dto.OutboxStatus.SENDING, "
+            + "e.attempts = e.attempts + 1, e.nextAttemptAt = :leaseUntil "
+            + "where e.id = :id and e.status = :status and e.nextAttemptAt <= :now")
+    int claim(Long id, OutboxStatus status, Instant now, Instant leaseUntil);
+}
@@ -1,24 +1,50 @@
 package com.syberry.bakery.repository;
 
+import com.syberry.bakery.dto.EmployeeShortViewDto;
 import com.syberry.bakery.entity.Employee;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.LockModeType;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface EmployeeRepository extends JpaRepository<Employee, Long> {
 
-    Optional<Employee> findByUserEmailIgnoreCaseAndUserIsBlockedFalse(String email);
+    @EntityGraph("Employee.user")
+    Optional<Employee> findByUserEmailIgnoreCaseAndActiveTrue(String email);
 
-    Optional<Employee> findByIdAndUserIsBlockedFalse(Long id);
+    @EntityGraph("Employee.user")
+    Optional<Employee> findByIdAndActiveTrue(Long id);
+
+    Optional<Employee> findByUserId(Long userId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e.id from Employee e where e.id = :id")
+    Optional<Long> lockById(Long id);
+
+    @Query(value = """
+            select new com.syberry.bakery.dto.EmployeeShortViewDto(e.id, u.firstName, u.lastName)
+            from Employee e inner join e.user u
+            where e.active = true and lower(concat(u.firstName, ' ', u.lastName)) like lower(concat('%',:name,'%'))""",
+            countQuery = """
+            select count(e) from Employee e inner join e.user u
+            where e.active = true and lower(concat(u.firstName, ' ', u.lastName)) like lower(concat('%',:name,'%'))""")
+    Page<EmployeeShortViewDto> findByActiveTrueAndFilterIn(String name, Pageable pageable);
 
     @Query("""
-            select e from Employee e
-            where e.user.isBlocked = false and lower(concat(e.user.firstName, ' ', e.user.lastName)) like lower(concat('%',:name,'%'))""")
-    Page<Employee> findByUserIsBlockedFalseAndFilterIn(String name, Pageable pageable);
+            select new com.syberry.bakery.dto.EmployeeShortViewDto(e.id, u.firstName, u.lastName)
+            from Employee e inner join e.user u
+            where e.id > :afterId and e.active = true
+            and lower(concat(u.firstName, ' ', u.lastName)) like lower(concat('%',:name,'%'))
+            order by e.id""")
+    List<EmployeeShortViewDto> findByIdGreaterThanAndActiveTrueAndFilterIn(long afterId, String name,
+                                                                           Pageable pageable);
 
 }
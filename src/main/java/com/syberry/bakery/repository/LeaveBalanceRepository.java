@@ -0,0 +1,22 @@
+package com.syberry.bakery.repository;
+
+import com.syberry.bakery.entity.LeaveBalance;
+import com.syberry.bakery.entity.LeaveBalanceId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+
+import javax.persistence.LockModeType;
+import java.util.List;
+import java.util.Optional;
+
+public interface LeaveBalanceRepository extends JpaRepository<LeaveBalance, LeaveBalanceId> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<LeaveBalance> findLockedById(LeaveBalanceId id);
+
+    List<LeaveBalance> findByIdEmployeeId(Long employeeId);
+
+    @Query("select distinct b.id.employeeId from LeaveBalance b")
+    List<Long> findEmployeeIds();
+}
@@ -1,31 +1,46 @@
 package com.syberry.bakery.repository;
 
+import com.syberry.bakery.dto.LeaveShortDto;
 import com.syberry.bakery.dto.LeaveType;
 import com.syberry.bakery.entity.Leave;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface LeaveRepository extends JpaRepository<Leave, Long>, JpaSpecificationExecutor<Leave> {
+public interface LeaveRepository extends JpaRepository<Leave, Long>, JpaSpecificationExecutor<Leave>,
+        LeaveRepositoryCustom {
 
-    List<Leave> findByEmployeeIdAndEmployeeUserIsBlockedFalse(Long id);
+    @Query("""
+            select new com.syberry.bakery.dto.LeaveShortDto(l.id, u.firstName, u.lastName, l.leaveType, l.leaveStartDate, l.leaveStatus)
+            from Leave l inner join l.employee e inner join e.user u
+            where e.id = :id and e.active = true""")
+    List<LeaveShortDto> findShortByEmployeeIdAndEmployeeActiveTrue(Long id);
+
+    @Query("""
+            select new com.syberry.bakery.dto.LeaveShortDto(l.id, u.firstName, u.lastName, l.leaveType, l.leaveStartDate, l.leaveStatus)
+            from Leave l inner join l.employee e inner join e.user u
+            where u.email = :email and e.active = true""")
+    List<LeaveShortDto> findShortByEmployeeUserEmailAndEmployeeActiveTrue(String email);
 
-    List<Leave> findByEmployeeUserEmailAndEmployeeUserIsBlockedFalse(String email);
+    @EntityGraph("Leave.employeeUser")
+    Optional<Leave> findByIdAndEmployeeActiveTrue(Long id);
 
-    Optional<Leave> findByIdAndEmployeeUserIsBlockedFalse(Long id);
+    List<Leave> findByEmployeeIdAndLeaveTypeIn(Long id, Collection<LeaveType> leaveTypes);
 
-    List<Leave> findByEmployeeIdAndLeaveTypeAndLeaveEndDateGreaterThanEqual(Long id, LeaveType leaveType, LocalDate leaveStartDate);
+    @Query("select distinct l.employee.id from Leave l where l.leaveType in :leaveTypes")
+    List<Long> findEmployeeIdsByLeaveTypeIn(Collection<LeaveType> leaveTypes);
 
     @Query("""
-            select l from Leave l
-            where l.employee.id = ?1
-            and l.employee.user.isBlocked = false
-            and ((l.leaveStartDate between ?2 and ?3 or l.leaveEndDate between ?2 and ?3)
-            or (l.leaveStartDate <= ?2 and l.leaveEndDate >= ?3))""")
-    List<Leave> findByEmployeeIdAndLeaveStartDateOrLeaveEndDateBetween(Long id, LocalDate leaveStartDate, LocalDate leaveEndDate);
+            select l.id from Leave l
+            where l.employee.id = :employeeId and l.leaveStartDate <= :end and l.leaveEndDate >= :start
+            and (:excludedId is null or l.id <> :excludedId)""")
+    List<Long> findOverlappingIds(Long employeeId, Long excludedId, LocalDate start, LocalDate end, Pageable pageable);
 
 }
@@ -0,0 +1,19 @@
+package com.syberry.bakery.repository;
+
+import com.syberry.bakery.dto.LeaveShortDto;
+import com.syberry.bakery.dto.SliceDto;
+import com.syberry.bakery.entity.Leave;
+import com.syberry.bakery.util.KeysetCursor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+public interface LeaveRepositoryCustom {
+
+    Page<LeaveShortDto> findAllShort(Specification<Leave> specification, Pageable pageable);
+
+    Slice<LeaveShortDto> findAllShortAsSlice(Specification<Leave> specification, Pageable pageable);
+
+    SliceDto<LeaveShortDto> findSliceShort(Specification<Leave> specification, KeysetCursor cursor, int size);
+}
@@ -0,0 +1,60 @@
+package com.syberry.bakery.repository;
+
+import com.syberry.bakery.dto.LeaveShortDto;
+import com.syberry.bakery.dto.SliceDto;
+import com.syberry.bakery.entity.Employee_;
+import com.syberry.bakery.entity.Leave;
+import com.syberry.bakery.entity.Leave_;
+import com.syberry.bakery.entity.User_;
+import com.syberry.bakery.util.KeysetCursor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CompoundSelection;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Root;
+import java.util.Map;
+import java.util.function.Function;
+
+@RequiredArgsConstructor
+public class LeaveRepositoryCustomImpl implements LeaveRepositoryCustom {
+    private static final Map<String, Function<LeaveShortDto, ?>> SORT_KEYS = Map.of(
+            Leave_.ID, LeaveShortDto::getId,
+            Leave_.LEAVE_START_DATE, LeaveShortDto::getStartDate);
+
+    private final EntityManager entityManager;
+
+    @Override
+    public Page<LeaveShortDto> findAllShort(Specification<Leave> specification, Pageable pageable) {
+        return SpecificationProjections.findAll(entityManager, Leave.class, LeaveShortDto.class, specification,
+                this::selectShort, pageable);
+    }
+
+    @Override
+    public Slice<LeaveShortDto> findAllShortAsSlice(Specification<Leave> specification, Pageable pageable) {
+        return SpecificationProjections.findAllAsSlice(entityManager, Leave.class, LeaveShortDto.class, specification,
+                this::selectShort, pageable);
+    }
+
+    @Override
+    public SliceDto<LeaveShortDto> findSliceShort(Specification<Leave> specification, KeysetCursor cursor, int size) {
+        return SpecificationProjections.findSlice(entityManager, Leave.class, LeaveShortDto.class, specification,
+                this::selectShort, SORT_KEYS, LeaveShortDto::getId, cursor, size);
+    }
+
+    private CompoundSelection<LeaveShortDto> selectShort(Root<Leave> root, CriteriaBuilder criteriaBuilder) {
+        Path<Object> user = root.get(Leave_.EMPLOYEE).get(Employee_.USER);
+        return criteriaBuilder.construct(LeaveShortDto.class,
+                root.get(Leave_.ID),
+                user.get(User_.FIRST_NAME),
+                user.get(User_.LAST_NAME),
+                root.get(Leave_.LEAVE_TYPE),
+                root.get(Leave_.LEAVE_START_DATE),
+                root.get(Leave_.LEAVE_STATUS));
+    }
+}
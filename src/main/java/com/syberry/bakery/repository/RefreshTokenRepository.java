@@ -2,18 +2,36 @@ package com.syberry.bakery.repository;
 
 import com.syberry.bakery.entity.RefreshToken;
 import com.syberry.bakery.entity.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+    @EntityGraph(attributePaths = {"user", "user.roles"})
     Optional<RefreshToken> findByToken(String token);
     Optional<RefreshToken> findByUser(User user);
 
     @Modifying
     void deleteByUserId(Long id);
 
+    @Modifying
+    @Query("update refresh_token t set t.token = :token, t.expiryDate = :expiryDate where t.user.id = :userId")
+    int updateTokenByUserId(Long userId, String token, Instant expiryDate);
+
+    @Query("select t.id from refresh_token t where t.expiryDate < :now")
+    List<Long> findExpiredIds(Instant now, Pageable pageable);
+
+    @Modifying
+    @Query("delete from refresh_token t where t.id in :ids and t.expiryDate < :now")
+    int deleteExpiredByIdIn(Collection<Long> ids, Instant now);
+
 }
\ No newline at end of file
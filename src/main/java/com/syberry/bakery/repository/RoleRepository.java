@@ -3,9 +3,12 @@ package com.syberry.bakery.repository;
 import com.syberry.bakery.dto.RoleName;
 import com.syberry.bakery.entity.Role;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import javax.persistence.QueryHint;
 import java.util.Optional;
 
 public interface RoleRepository extends JpaRepository<Role, Long> {
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_CACHEABLE, value = "true"))
     Optional<Role> findByRoleName(RoleName roleName);
 }
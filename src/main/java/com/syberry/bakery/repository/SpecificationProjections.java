@@ -0,0 +1,154 @@
+package com.syberry.bakery.repository;
+
+import com.syberry.bakery.dto.SliceDto;
+import com.syberry.bakery.exception.InvalidArgumentTypeException;
+import com.syberry.bakery.util.KeysetCursor;
+import lombok.experimental.UtilityClass;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CompoundSelection;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Runs a {@link Specification} as a constructor-expression query, so a page of DTOs is read with a single
+ * select instead of hydrating the entities and their associations. The count query is only issued when
+ * the page alone doesn't tell the total.
+ * <p>
+ * {@link #findSlice} is the keyset counterpart: it seeks past the cursor on (sort key, id) and reads one
+ * row more than the slice instead of skipping an offset and counting.
+ */
+@UtilityClass
+class SpecificationProjections {
+
+    <T, R> Page<R> findAll(EntityManager entityManager, Class<T> domainClass, Class<R> resultClass,
+                           Specification<T> specification,
+                           BiFunction<Root<T>, CriteriaBuilder, CompoundSelection<R>> selection,
+                           Pageable pageable) {
+        TypedQuery<R> typedQuery = createQuery(entityManager, domainClass, resultClass, specification, selection,
+                pageable.getSort());
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        List<R> content = typedQuery.getResultList();
+        return PageableExecutionUtils.getPage(content, pageable,
+                () -> count(entityManager, domainClass, specification));
+    }
+
+    /**
+     * Same as {@link #findAll} without the total: reads one row past the page to tell whether there is a next one.
+     */
+    <T, R> Slice<R> findAllAsSlice(EntityManager entityManager, Class<T> domainClass, Class<R> resultClass,
+                                   Specification<T> specification,
+                                   BiFunction<Root<T>, CriteriaBuilder, CompoundSelection<R>> selection,
+                                   Pageable pageable) {
+        TypedQuery<R> typedQuery = createQuery(entityManager, domainClass, resultClass, specification, selection,
+                pageable.getSort());
+        if (pageable.isUnpaged()) {
+            return new SliceImpl<>(typedQuery.getResultList(), pageable, false);
+        }
+        List<R> rows = typedQuery.setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? rows.subList(0, pageable.getPageSize()) : rows, pageable, hasNext);
+    }
+
+    @SuppressWarnings("unchecked")
+    <T, R> SliceDto<R> findSlice(EntityManager entityManager, Class<T> domainClass, Class<R> resultClass,
+                                 Specification<T> specification,
+                                 BiFunction<Root<T>, CriteriaBuilder, CompoundSelection<R>> selection,
+                                 Map<String, Function<R, ?>> sortKeys, Function<R, Long> idKey,
+                                 KeysetCursor cursor, int size) {
+        Function<R, ?> sortKey = sortKeys.get(cursor.getProperty());
+        if (sortKey == null) {
+            throw new InvalidArgumentTypeException("Cursor pagination can't be sorted by " + cursor.getProperty());
+        }
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<R> query = criteriaBuilder.createQuery(resultClass);
+        Root<T> root = query.from(domainClass);
+        Path<Comparable<Object>> key = root.get(cursor.getProperty());
+        Path<Long> id = root.get(KeysetCursor.ID);
+        boolean byId = KeysetCursor.ID.equals(cursor.getProperty());
+
+        List<Predicate> predicates = new ArrayList<>();
+        Predicate predicate = specification.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            predicates.add(predicate);
+        }
+        if (!cursor.isFirst()) {
+            Predicate idAfter = cursor.isAscending()
+                    ? criteriaBuilder.greaterThan(id, cursor.getLastId())
+                    : criteriaBuilder.lessThan(id, cursor.getLastId());
+            if (byId) {
+                predicates.add(idAfter);
+            } else {
+                Comparable<Object> value = (Comparable<Object>) cursor.lastValue(key.getJavaType());
+                predicates.add(criteriaBuilder.or(
+                        cursor.isAscending()
+                                ? criteriaBuilder.greaterThan(key, value)
+                                : criteriaBuilder.lessThan(key, value),
+                        criteriaBuilder.and(criteriaBuilder.equal(key, value), idAfter)));
+            }
+        }
+        query.where(predicates.toArray(Predicate[]::new));
+        query.select(selection.apply(root, criteriaBuilder));
+        if (byId) {
+            query.orderBy(cursor.isAscending() ? criteriaBuilder.asc(id) : criteriaBuilder.desc(id));
+        } else {
+            query.orderBy(cursor.isAscending()
+                    ? List.of(criteriaBuilder.asc(key), criteriaBuilder.asc(id))
+                    : List.of(criteriaBuilder.desc(key), criteriaBuilder.desc(id)));
+        }
+        List<R> rows = entityManager.createQuery(query).setMaxResults(size + 1).getResultList();
+        return cursor.toSlice(rows, size, sortKey, idKey);
+    }
+
+    private <T, R> TypedQuery<R> createQuery(EntityManager entityManager, Class<T> domainClass, Class<R> resultClass,
+                                             Specification<T> specification,
+                                             BiFunction<Root<T>, CriteriaBuilder, CompoundSelection<R>> selection,
+                                             Sort sort) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<R> query = criteriaBuilder.createQuery(resultClass);
+        Root<T> root = query.from(domainClass);
+        Predicate predicate = specification.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(selection.apply(root, criteriaBuilder));
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, criteriaBuilder));
+        }
+        return entityManager.createQuery(query);
+    }
+
+    private <T> long count(EntityManager entityManager, Class<T> domainClass, Specification<T> specification) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = criteriaBuilder.createQuery(Long.class);
+        Root<T> root = query.from(domainClass);
+        Predicate predicate = specification.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(query.isDistinct() ? criteriaBuilder.countDistinct(root) : criteriaBuilder.count(root));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
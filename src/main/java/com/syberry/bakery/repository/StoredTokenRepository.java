@@ -0,0 +1,26 @@
+package com.syberry.bakery.repository;
+
+import com.syberry.bakery.entity.StoredToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Optional;
+
+@Repository
+public interface StoredTokenRepository extends JpaRepository<StoredToken, String> {
+    Optional<StoredToken> findByKeyAndExpiresAtAfter(String key, Instant now);
+
+    @Modifying
+    @Transactional
+    @Query("delete from StoredToken t where t.key = :key")
+    void deleteByKey(String key);
+
+    @Modifying
+    @Transactional
+    @Query("delete from StoredToken t where t.expiresAt < :now")
+    int deleteByExpiresAtBefore(Instant now);
+}
@@ -4,6 +4,8 @@ import com.syberry.bakery.entity.User;
 import com.syberry.bakery.dto.RoleName;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -11,13 +13,24 @@ import org.springframework.stereotype.Repository;
 import java.util.List;
 import java.util.Optional;
 
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
+    @EntityGraph("User.roles")
     Optional<User> findByIdAndIsBlockedFalse(Long id);
-    Optional<User> findByEmailAndIsBlockedFalse(String email);
     Optional<User> findByEmail(String email);
+    @EntityGraph("User.roles")
+    Optional<User> findWithRolesByEmailAndIsBlockedFalse(String email);
+    @Query("select u.securityVersion from User u where u.id = :id and u.isBlocked = false")
+    Optional<Long> findSecurityVersionById(Long id);
     Page<User> findAllByIsBlockedFalse(Pageable pageable);
+    Page<User> findByRolesIdAndIsBlockedFalse(Long roleId, Pageable pageable);
     @Query(value = "select distinct u from User u inner join u.roles r where u.firstName like CONCAT('%',:firstName,'%') and u.lastName like CONCAT('%',:lastName,'%') and u.email like CONCAT('%',:email,'%') and r.roleName in :roles and u.isBlocked = false")
     Page<User> findAllByFiltering(String firstName, String lastName, String email, List<RoleName> roles, Pageable pageable);
+    @Query(value = "select distinct u from User u inner join u.roles r where u.firstName like CONCAT('%',:firstName,'%') and u.lastName like CONCAT('%',:lastName,'%') and u.email like CONCAT('%',:email,'%') and r.roleName in :roles and u.isBlocked = false")
+    Slice<User> findSliceByFiltering(String firstName, String lastName, String email, List<RoleName> roles, Pageable pageable);
+    @Query(value = "select count(distinct u) from User u inner join u.roles r where u.firstName like CONCAT('%',:firstName,'%') and u.lastName like CONCAT('%',:lastName,'%') and u.email like CONCAT('%',:email,'%') and r.roleName in :roles and u.isBlocked = false")
+    long countAllByFiltering(String firstName, String lastName, String email, List<RoleName> roles);
+    @Query(value = "select distinct u from User u inner join u.roles r where u.id > :afterId and u.firstName like CONCAT('%',:firstName,'%') and u.lastName like CONCAT('%',:lastName,'%') and u.email like CONCAT('%',:email,'%') and r.roleName in :roles and u.isBlocked = false order by u.id")
+    List<User> findAllByFilteringAfter(long afterId, String firstName, String lastName, String email, List<RoleName> roles, Pageable pageable);
     @Query(value = "SELECT COUNT(u.id) FROM User u inner join u.roles r where r.roleName in :roles and u.isBlocked = false")
     long countAllByBlockedIsFalseAndRoleIn(List<RoleName> roles);
 
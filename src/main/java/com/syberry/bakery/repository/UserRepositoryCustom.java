@@ -0,0 +1,16 @@
+package com.syberry.bakery.repository;
+
+import com.syberry.bakery.entity.User;
+
+import java.util.Optional;
+
+public interface UserRepositoryCustom {
+
+    /**
+     * Resolves the email through the natural-id cache and loads the user from the entity cache, so
+     * repeated lookups of the same user don't reach the database. A cached mapping whose user no longer has
+     * that email falls back to a query. The entity cache of another node may still be stale, so paths that
+     * grant access to an account look the user up with a query instead.
+     */
+    Optional<User> findByEmailAndIsBlockedFalse(String email);
+}
@@ -0,0 +1,31 @@
+package com.syberry.bakery.repository;
+
+import com.syberry.bakery.entity.User;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.util.Optional;
+
+@RequiredArgsConstructor
+public class UserRepositoryCustomImpl implements UserRepositoryCustom {
+    private final EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<User> findByEmailAndIsBlockedFalse(String email) {
+        // the natural-id cache is per node and may still map an email changed elsewhere to its former owner
+        Optional<User> cached = entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(User.class)
+                .loadOptional(email);
+        if (cached.isPresent() && email.equalsIgnoreCase(cached.get().getEmail())) {
+            return cached.filter(user -> !user.getIsBlocked());
+        }
+        return entityManager.createQuery("select u from User u where u.email = :email and u.isBlocked = false",
+                        User.class)
+                .setParameter("email", email)
+                .getResultStream()
+                .findFirst();
+    }
+}
@@ -0,0 +1,63 @@
+package com.syberry.bakery.security;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+@Component
+@ConditionalOnProperty(name = "bakery.security.tokenStore", havingValue = "memory")
+public class InMemoryTokenStore implements TokenStore {
+    private static final String CACHE_NAME = "tokenStore";
+
+    private final Cache<String, Entry> tokens;
+
+    public InMemoryTokenStore(@Value("${bakery.security.tokenStoreMaxSize}") long maxSize,
+                              MeterRegistry meterRegistry) {
+        this.tokens = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        GuavaCacheMetrics.monitor(meterRegistry, tokens, CACHE_NAME);
+    }
+
+    @Override
+    public void put(String key, String value, Duration ttl) {
+        tokens.put(key, new Entry(value, Instant.now().plus(ttl)));
+    }
+
+    @Override
+    public Optional<String> get(String key) {
+        Entry entry = tokens.getIfPresent(key);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (entry.expiresAt.isBefore(Instant.now())) {
+            tokens.invalidate(key);
+            return Optional.empty();
+        }
+        return Optional.of(entry.value);
+    }
+
+    @Override
+    public void remove(String key) {
+        tokens.invalidate(key);
+    }
+
+    private static class Entry {
+        private final String value;
+        private final Instant expiresAt;
+
+        private Entry(String value, Instant expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
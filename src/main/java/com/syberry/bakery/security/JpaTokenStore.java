@@ -0,0 +1,49 @@
+package com.syberry.bakery.security;
+
+import com.syberry.bakery.entity.StoredToken;
+import com.syberry.bakery.repository.StoredTokenRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+@Component
+@ConditionalOnProperty(name = "bakery.security.tokenStore", havingValue = "database", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class JpaTokenStore implements TokenStore {
+    private final StoredTokenRepository storedTokenRepository;
+
+    @Override
+    @Transactional
+    public void put(String key, String value, Duration ttl) {
+        storedTokenRepository.save(new StoredToken(key, value, Instant.now().plus(ttl)));
+    }
+
+    @Override
+    public Optional<String> get(String key) {
+        return storedTokenRepository.findByKeyAndExpiresAtAfter(key, Instant.now())
+                .map(StoredToken::getValue);
+    }
+
+    @Override
+    @Transactional
+    public void remove(String key) {
+        storedTokenRepository.deleteByKey(key);
+    }
+
+    @Scheduled(fixedDelayString = "${bakery.security.tokenStorePurgeDelayMs}")
+    @Transactional
+    public void purgeExpired() {
+        int removed = storedTokenRepository.deleteByExpiresAtBefore(Instant.now());
+        if (removed > 0) {
+            log.info("Removed {} expired tokens", removed);
+        }
+    }
+}
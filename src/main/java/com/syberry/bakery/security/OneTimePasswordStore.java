@@ -0,0 +1,118 @@
+package com.syberry.bakery.security;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Short-lived 2FA codes and password reset tokens keyed by email, kept in the configured {@link TokenStore}.
+ * A lookup for an unknown key stores nothing, and the per-key attempt buckets are size-bounded, so guessing
+ * traffic can't grow the heap. Each lookup takes a token from the key's bucket; an empty bucket answers 429
+ * until it refills. Buckets are node-local.
+ * <p>
+ * Lookups are counted as {@code cache.gets} hits and misses of the {@code oneTimePasswords} cache, whichever
+ * store holds the codes.
+ */
+@Component
+public class OneTimePasswordStore {
+    private static final String KEY_PREFIX = "otp:";
+    private static final String CACHE_NAME = "oneTimePasswords";
+
+    private final TokenStore tokenStore;
+    private final Duration ttl;
+    private final Cache<String, TokenBucket> attempts;
+    private final int attemptCapacity;
+    private final long refillNanos;
+    private final Counter hits;
+    private final Counter misses;
+
+    public OneTimePasswordStore(TokenStore tokenStore,
+                                @Value("${bakery.security.2faDurationMn}") int durationMn,
+                                @Value("${bakery.security.otpMaxSize}") long maxSize,
+                                @Value("${bakery.security.otpAttemptCapacity}") int attemptCapacity,
+                                @Value("${bakery.security.otpAttemptRefillSec}") long attemptRefillSec,
+                                MeterRegistry meterRegistry) {
+        this.tokenStore = tokenStore;
+        this.ttl = Duration.ofMinutes(durationMn);
+        this.attemptCapacity = attemptCapacity;
+        this.refillNanos = TimeUnit.SECONDS.toNanos(attemptRefillSec);
+        // an idle bucket is full again after capacity * refill, so dropping it then loses nothing
+        this.attempts = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterAccess(attemptRefillSec * attemptCapacity, TimeUnit.SECONDS)
+                .build();
+        this.hits = lookupCounter(meterRegistry, "hit");
+        this.misses = lookupCounter(meterRegistry, "miss");
+    }
+
+    public void put(String key, String password) {
+        tokenStore.put(KEY_PREFIX + key, password, ttl);
+    }
+
+    /**
+     * Returns the stored password or {@code null} when there is none.
+     *
+     * @throws ResponseStatusException with 429 when the key ran out of attempts
+     */
+    public String get(String key) {
+        if (!bucket(key).tryConsume()) {
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Too many attempts, try again later");
+        }
+        String password = tokenStore.get(KEY_PREFIX + key).orElse(null);
+        (password == null ? misses : hits).increment();
+        return password;
+    }
+
+    public void invalidate(String key) {
+        tokenStore.remove(KEY_PREFIX + key);
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("cache.gets")
+                .tag("cache", CACHE_NAME)
+                .tag("result", result)
+                .description("One-time password lookups that found a code (hit) or not (miss)")
+                .register(meterRegistry);
+    }
+
+    private TokenBucket bucket(String key) {
+        try {
+            return attempts.get(key, () -> new TokenBucket(attemptCapacity, refillNanos));
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class TokenBucket {
+        private final int capacity;
+        private final long refillNanos;
+        private double tokens;
+        private long refilledAt = System.nanoTime();
+
+        private TokenBucket(int capacity, long refillNanos) {
+            this.capacity = capacity;
+            this.refillNanos = refillNanos;
+            this.tokens = capacity;
+        }
+
+        private synchronized boolean tryConsume() {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (double) (now - refilledAt) / refillNanos);
+            refilledAt = now;
+            if (tokens < 1) {
+                return false;
+            }
+            tokens--;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.syberry.bakery.security;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of authenticated principals keyed by token subject (user email).
+ * Hit/miss statistics are published as the {@code cache.gets{cache=principals}} metric.
+ */
+@Component
+public class PrincipalCache {
+    private static final String CACHE_NAME = "principals";
+
+    private final Cache<String, UserDetailsImpl> cache;
+
+    public PrincipalCache(@Value("${bakery.security.principalCacheMaxSize}") long maxSize,
+                          @Value("${bakery.security.principalCacheTtlSec}") long ttlSec,
+                          MeterRegistry meterRegistry) {
+        this.cache = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttlSec, TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+        GuavaCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public UserDetailsImpl get(String username, Function<String, UserDetailsImpl> loader) {
+        UserDetailsImpl userDetails = cache.getIfPresent(username);
+        if (userDetails == null) {
+            userDetails = loader.apply(username);
+            cache.put(username, userDetails);
+        }
+        return userDetails;
+    }
+
+    /**
+     * Drops the cached principal now and once more after the surrounding transaction commits,
+     * so a concurrent request can't re-cache the state that is being changed.
+     */
+    public void evict(String username) {
+        cache.invalidate(username);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(username);
+                }
+            });
+        }
+    }
+}
@@ -1,11 +1,7 @@
 package com.syberry.bakery.security;
 
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
 import com.syberry.bakery.service.impl.UserDetailsServiceImpl;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -23,7 +19,6 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import org.springframework.web.filter.CorsFilter;
 
 import java.util.List;
-import java.util.concurrent.TimeUnit;
 
 @Configuration
 @EnableGlobalMethodSecurity(
@@ -32,8 +27,6 @@ import java.util.concurrent.TimeUnit;
 public class SecurityConfig {
     private final UserDetailsServiceImpl userDetailsService;
     private final AuthEntryPointJwt unauthorizedHandler;
-    @Value("${bakery.security.2faDurationMn}")
-    private int duration;
     @Bean
     public PasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder();
@@ -59,18 +52,6 @@ public class SecurityConfig {
         return authConfig.getAuthenticationManager();
     }
 
-    @Bean
-    public LoadingCache<String, String> oneTimePasswordCache() {
-        return CacheBuilder.newBuilder().
-                expireAfterWrite(duration, TimeUnit.MINUTES)
-                .build(new CacheLoader<>() {
-                    @Override
-                    public String load(String key) {
-                        return "";
-                    }
-                });
-    }
-
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http.cors().and().csrf().disable()
@@ -0,0 +1,72 @@
+package com.syberry.bakery.security;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.syberry.bakery.entity.User;
+import com.syberry.bakery.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the current security version of recently seen users in memory. Self-contained access tokens
+ * carry the version they were issued with and stop being accepted once it is bumped.
+ * The TTL bounds how long other nodes may keep honouring an outdated version.
+ */
+@Component
+public class SecurityVersionRegistry {
+    private static final String CACHE_NAME = "securityVersions";
+    private static final long BLOCKED = -1L;
+
+    private final LoadingCache<Long, Long> versions;
+    private final PrincipalCache principalCache;
+
+    public SecurityVersionRegistry(UserRepository userRepository,
+                                   PrincipalCache principalCache,
+                                   @Value("${bakery.security.securityVersionCacheMaxSize}") long maxSize,
+                                   @Value("${bakery.security.securityVersionCacheTtlSec}") long ttlSec,
+                                   MeterRegistry meterRegistry) {
+        this.principalCache = principalCache;
+        this.versions = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttlSec, TimeUnit.SECONDS)
+                .recordStats()
+                .build(new CacheLoader<>() {
+                    @Override
+                    public Long load(Long userId) {
+                        return userRepository.findSecurityVersionById(userId).orElse(BLOCKED);
+                    }
+                });
+        GuavaCacheMetrics.monitor(meterRegistry, versions, CACHE_NAME);
+    }
+
+    public boolean isCurrent(Long userId, long securityVersion) {
+        return Objects.equals(versions.getUnchecked(userId), securityVersion);
+    }
+
+    /**
+     * Invalidates every token and cached principal issued for the user. Must be called
+     * whenever the user's roles, email or blocked status change.
+     */
+    public void bump(User user) {
+        user.setSecurityVersion(user.getSecurityVersion() + 1);
+        principalCache.evict(user.getEmail());
+        Long userId = user.getId();
+        versions.invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    versions.invalidate(userId);
+                }
+            });
+        }
+    }
+}
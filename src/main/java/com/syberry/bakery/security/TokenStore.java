@@ -0,0 +1,17 @@
+package com.syberry.bakery.security;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Short-lived key/value storage for one-time codes. Implementations are picked with
+ * {@code bakery.security.tokenStore}: {@code memory} keeps tokens on the local node,
+ * {@code database} shares them between every node using the same schema.
+ */
+public interface TokenStore {
+    void put(String key, String value, Duration ttl);
+
+    Optional<String> get(String key);
+
+    void remove(String key);
+}
@@ -22,12 +22,28 @@ public class UserDetailsImpl implements UserDetails {
 
     private final Collection<? extends GrantedAuthority> authorities;
 
+    private final long securityVersion;
+
+    /**
+     * The entity the principal was loaded from, so the login flow doesn't have to query it again.
+     * {@code null} for principals rebuilt from token claims.
+     */
+    @JsonIgnore
+    private final transient User user;
+
     public UserDetailsImpl(Long id, String email, String password,
                            Collection<? extends GrantedAuthority> authorities) {
+        this(id, email, password, authorities, 0, null);
+    }
+
+    public UserDetailsImpl(Long id, String email, String password,
+                           Collection<? extends GrantedAuthority> authorities, long securityVersion, User user) {
         this.id = id;
         this.username = email;
         this.password = password;
         this.authorities = authorities;
+        this.securityVersion = securityVersion;
+        this.user = user;
     }
 
     public static UserDetailsImpl build(User user) {
@@ -39,7 +55,17 @@ public class UserDetailsImpl implements UserDetails {
                 user.getId(),
                 user.getEmail(),
                 user.getPassword(),
-                authorities);
+                authorities,
+                user.getSecurityVersion(),
+                user);
+    }
+
+    public static UserDetailsImpl build(Long id, String email, List<String> roles, long securityVersion) {
+        List<GrantedAuthority> authorities = roles.stream()
+                .map(SimpleGrantedAuthority::new)
+                .collect(Collectors.toList());
+
+        return new UserDetailsImpl(id, email, null, authorities, securityVersion, null);
     }
 
     @Override
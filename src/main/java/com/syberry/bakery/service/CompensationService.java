@@ -3,12 +3,19 @@ package com.syberry.bakery.service;
 import com.syberry.bakery.dto.CompensationDto;
 import com.syberry.bakery.dto.CompensationFilterDto;
 import com.syberry.bakery.dto.CompensationShortViewDto;
+import com.syberry.bakery.dto.CountMode;
+import com.syberry.bakery.dto.SliceDto;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 public interface CompensationService {
 
-    Page<CompensationShortViewDto> getAllCompensations(CompensationFilterDto filterDto, Pageable pageable);
+    Slice<CompensationShortViewDto> getAllCompensations(CompensationFilterDto filterDto, CountMode countMode,
+                                                        Pageable pageable);
+
+    SliceDto<CompensationShortViewDto> scrollAllCompensations(CompensationFilterDto filterDto, String cursor,
+                                                              Pageable pageable);
 
     Page<CompensationShortViewDto> getCompensationsByEmployeeId(Long id, CompensationFilterDto filterDto,
                                                                 Pageable pageable);
@@ -3,6 +3,7 @@ package com.syberry.bakery.service;
 import com.syberry.bakery.dto.ContractFullDto;
 import com.syberry.bakery.dto.ContractSaveDto;
 import com.syberry.bakery.dto.ContractShortDto;
+import com.syberry.bakery.dto.SliceDto;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -12,6 +13,8 @@ public interface ContractService {
 
     Page<ContractShortDto> getAllContracts(Pageable pageable, String name);
 
+    SliceDto<ContractShortDto> scrollAllContracts(String cursor, Pageable pageable, String name);
+
     ContractFullDto getByContractId(Long id);
 
     List<ContractShortDto> getByEmployeeId(Long id);
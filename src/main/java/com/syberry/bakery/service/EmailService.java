@@ -7,6 +7,8 @@ import java.util.Map;
 public interface EmailService {
     void sendEmail(EmailDetails emailDetails);
 
+    void enqueueEmail(EmailDetails emailDetails);
+
     String getTemplate(String htmlTemplate, Map<String, String> values);
 
     void sendEmailVerificationCode(String code, String userEmail);
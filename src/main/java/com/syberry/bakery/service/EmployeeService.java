@@ -2,6 +2,7 @@ package com.syberry.bakery.service;
 
 import com.syberry.bakery.dto.EmployeeDto;
 import com.syberry.bakery.dto.EmployeeShortViewDto;
+import com.syberry.bakery.dto.SliceDto;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -9,6 +10,8 @@ public interface EmployeeService {
 
     Page<EmployeeShortViewDto> getAllEmployees(Pageable pageable, String name);
 
+    SliceDto<EmployeeShortViewDto> scrollAllEmployees(String cursor, Pageable pageable, String name);
+
     EmployeeDto getEmployeeById(Long id);
     EmployeeDto getEmployeeProfile();
 
@@ -1,18 +1,24 @@
 package com.syberry.bakery.service;
 
+import com.syberry.bakery.dto.CountMode;
 import com.syberry.bakery.dto.LeaveFullDto;
 import com.syberry.bakery.dto.LeaveSaveDto;
 import com.syberry.bakery.dto.LeaveShortDto;
 import com.syberry.bakery.dto.LeaveStatus;
 import com.syberry.bakery.dto.LeaveType;
-import org.springframework.data.domain.Page;
+import com.syberry.bakery.dto.SliceDto;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
 
 public interface LeaveService {
 
-    Page<LeaveShortDto> getAll(Pageable pageable, String name, List<LeaveType> leaveTypes, List<LeaveStatus> leaveStatuses);
+    Slice<LeaveShortDto> getAll(Pageable pageable, CountMode countMode, String name, List<LeaveType> leaveTypes,
+                                List<LeaveStatus> leaveStatuses);
+
+    SliceDto<LeaveShortDto> scrollAll(String cursor, Pageable pageable, String name, List<LeaveType> leaveTypes,
+                                      List<LeaveStatus> leaveStatuses);
 
     List<LeaveShortDto> getByEmployeeId(Long id);
 
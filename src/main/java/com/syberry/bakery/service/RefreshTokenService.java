@@ -2,13 +2,14 @@ package com.syberry.bakery.service;
 
 import com.syberry.bakery.dto.LoginDto;
 import com.syberry.bakery.entity.RefreshToken;
+import com.syberry.bakery.entity.User;
 import org.springframework.http.ResponseCookie;
 
 public interface RefreshTokenService {
 
     LoginDto refreshAccessToken(String accessToken);
 
-    RefreshToken createRefreshToken(Long userId);
+    String createRefreshToken(User user);
 
     RefreshToken verifyExpiration(String token);
 
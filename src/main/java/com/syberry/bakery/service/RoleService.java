@@ -2,6 +2,8 @@ package com.syberry.bakery.service;
 
 import com.syberry.bakery.dto.RoleDto;
 import com.syberry.bakery.dto.UserDto;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
 import java.util.List;
 
@@ -10,4 +12,5 @@ public interface RoleService {
     UserDto removeRole(Long userId, Long roleId);
     List<RoleDto> getRoles();
     RoleDto getRoleById(Long id);
+    Page<UserDto> getUsersInRole(Long roleId, Pageable pageable);
 }
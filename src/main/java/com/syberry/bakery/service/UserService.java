@@ -1,13 +1,17 @@
 package com.syberry.bakery.service;
 
+import com.syberry.bakery.dto.CountMode;
 import com.syberry.bakery.dto.SignUpRequestDto;
+import com.syberry.bakery.dto.SliceDto;
 import com.syberry.bakery.dto.UserDto;
 import com.syberry.bakery.dto.UsersFilterDto;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 public interface UserService {
-    Page<UserDto> getAllUsers(Pageable pageable, UsersFilterDto usersFilterDto);
+    Slice<UserDto> getAllUsers(Pageable pageable, CountMode countMode, UsersFilterDto usersFilterDto);
+
+    SliceDto<UserDto> scrollAllUsers(String cursor, Pageable pageable, UsersFilterDto usersFilterDto);
 
     UserDto getUserById(Long id);
 
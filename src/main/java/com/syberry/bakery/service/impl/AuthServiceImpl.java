@@ -1,6 +1,5 @@
 package com.syberry.bakery.service.impl;
 
-import com.google.common.cache.LoadingCache;
 import com.syberry.bakery.converter.UserConverter;
 import com.syberry.bakery.dto.AuthResponse;
 import com.syberry.bakery.dto.EmailVerificationDto;
@@ -11,7 +10,6 @@ import com.syberry.bakery.dto.ResetPasswordDto;
 import com.syberry.bakery.dto.Status;
 import com.syberry.bakery.dto.UpdatePasswordDto;
 import com.syberry.bakery.dto.UserDto;
-import com.syberry.bakery.entity.RefreshToken;
 import com.syberry.bakery.entity.User;
 import com.syberry.bakery.exception.EmailException;
 import com.syberry.bakery.exception.EntityNotFoundException;
@@ -19,6 +17,7 @@ import com.syberry.bakery.exception.InvalidArgumentTypeException;
 import com.syberry.bakery.exception.TokenRefreshException;
 import com.syberry.bakery.exception.UpdateException;
 import com.syberry.bakery.repository.UserRepository;
+import com.syberry.bakery.security.OneTimePasswordStore;
 import com.syberry.bakery.security.UserDetailsImpl;
 import com.syberry.bakery.service.AuthService;
 import com.syberry.bakery.service.EmailService;
@@ -39,7 +38,6 @@ import org.springframework.transaction.annotation.Transactional;
 
 import javax.servlet.http.HttpServletRequest;
 import java.util.Random;
-import java.util.concurrent.ExecutionException;
 
 import static com.syberry.bakery.util.SecurityContextUtil.getUserDetails;
 
@@ -50,7 +48,7 @@ public class AuthServiceImpl implements AuthService {
     private final JwtUtils jwtUtils;
     private final RefreshTokenService refreshTokenService;
     private final UserService userService;
-    private final LoadingCache<String, String> oneTimePasswordCache;
+    private final OneTimePasswordStore oneTimePasswordStore;
     private final UserRepository userRepository;
     private final EmailService emailService;
     private final PasswordEncoder encoder;
@@ -62,31 +60,25 @@ public class AuthServiceImpl implements AuthService {
         Authentication authentication = authenticationManager
                 .authenticate(new UsernamePasswordAuthenticationToken(loginRequestDto.getUsername(),
                         loginRequestDto.getPassword()));
-        User user = userRepository.findByEmailAndIsBlockedFalse(loginRequestDto.getUsername())
-                .orElseThrow(() -> new EntityNotFoundException("User is not found"));
+        User user = getAuthenticatedUser(authentication, loginRequestDto.getUsername());
         if (user.is2faEnabled()) {
             sendEmailVerificationCode(loginRequestDto.getUsername());
             return new LoginWith2faDto("Verification code was sent to specified email");
         }
         SecurityContextHolder.getContext().setAuthentication(authentication);
-        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
-        return authenticateUser(userDetails);
+        return authenticateUser(user);
     }
 
     @Override
     public LoginDto verifyEmailCode(EmailVerificationDto emailVerificationDto) {
-        User user = userRepository.findByEmailAndIsBlockedFalse(emailVerificationDto.getEmail())
+        User user = userRepository.findWithRolesByEmailAndIsBlockedFalse(emailVerificationDto.getEmail())
                 .orElseThrow(() -> new EntityNotFoundException("User with such email does not exists"));
-        try {
-            String code = oneTimePasswordCache.get(emailVerificationDto.getEmail());
-            if (code.equals(emailVerificationDto.getCode().toString())) {
-                oneTimePasswordCache.refresh(emailVerificationDto.getEmail());
-                return authenticateUser(UserDetailsImpl.build(user));
-            }
-            throw new EmailException("Email verification code is invalid");
-        } catch (ExecutionException e) {
-            throw new EmailException("Email verification failed");
+        String code = oneTimePasswordStore.get(emailVerificationDto.getEmail());
+        if (code != null && code.equals(emailVerificationDto.getCode().toString())) {
+            oneTimePasswordStore.invalidate(emailVerificationDto.getEmail());
+            return authenticateUser(user);
         }
+        throw new EmailException("Email verification code is invalid");
     }
 
     @Override
@@ -112,19 +104,15 @@ public class AuthServiceImpl implements AuthService {
     @Override
     @Transactional
     public void resetPassword(ResetPasswordDto resetPasswordDto) {
-        try {
-            String token = oneTimePasswordCache.get(resetPasswordDto.getEmail());
-            if (token.equals(resetPasswordDto.getToken())) {
-                oneTimePasswordCache.refresh(resetPasswordDto.getEmail());
-                User user = userRepository.findByEmailAndIsBlockedFalse(resetPasswordDto.getEmail())
-                        .orElseThrow(() -> new EntityNotFoundException("User is not found"));
-                user.setPassword(encoder.encode(resetPasswordDto.getNewPassword()));
-                return;
-            }
-            throw new EmailException("Email verification token is invalid");
-        } catch (ExecutionException e) {
-            throw new EmailException("Email verification failed");
+        String token = oneTimePasswordStore.get(resetPasswordDto.getEmail());
+        if (token != null && token.equals(resetPasswordDto.getToken())) {
+            oneTimePasswordStore.invalidate(resetPasswordDto.getEmail());
+            User user = userRepository.findWithRolesByEmailAndIsBlockedFalse(resetPasswordDto.getEmail())
+                    .orElseThrow(() -> new EntityNotFoundException("User is not found"));
+            user.setPassword(encoder.encode(resetPasswordDto.getNewPassword()));
+            return;
         }
+        throw new EmailException("Email verification token is invalid");
     }
 
     @Override
@@ -157,20 +145,25 @@ public class AuthServiceImpl implements AuthService {
 
     private void sendEmailVerificationCode(String userEmail) {
         String code = String.format("%06d", new Random().nextInt(999999));
-        oneTimePasswordCache.put(userEmail, code);
+        oneTimePasswordStore.put(userEmail, code);
         emailService.sendEmailVerificationCode(code, userEmail);
     }
 
-    private LoginDto authenticateUser(UserDetailsImpl userDetails) {
-        ResponseCookie jwtCookie = jwtUtils.generateJwtCookie(userDetails);
-        RefreshToken refreshToken = refreshTokenService.createRefreshToken(userDetails.getId());
-        ResponseCookie jwtRefreshCookie = jwtUtils.generateRefreshJwtCookie(refreshToken.getToken());
-        return new LoginDto(jwtCookie.toString(), jwtRefreshCookie.toString(),
-                getUserById(userDetails.getId()));
+    private User getAuthenticatedUser(Authentication authentication, String email) {
+        if (authentication != null && authentication.getPrincipal() instanceof UserDetailsImpl) {
+            User user = ((UserDetailsImpl) authentication.getPrincipal()).getUser();
+            if (user != null) {
+                return user;
+            }
+        }
+        return userRepository.findWithRolesByEmailAndIsBlockedFalse(email)
+                .orElseThrow(() -> new EntityNotFoundException("User is not found"));
     }
 
-    private UserDto getUserById(Long id) {
-        return userConverter.convertToDto(userRepository.findByIdAndIsBlockedFalse(id)
-                .orElseThrow(() -> new EntityNotFoundException("User is not found")));
+    private LoginDto authenticateUser(User user) {
+        ResponseCookie jwtCookie = jwtUtils.generateJwtCookie(UserDetailsImpl.build(user));
+        String refreshToken = refreshTokenService.createRefreshToken(user);
+        ResponseCookie jwtRefreshCookie = jwtUtils.generateRefreshJwtCookie(refreshToken);
+        return new LoginDto(jwtCookie.toString(), jwtRefreshCookie.toString(), userConverter.convertToDto(user));
     }
 }
@@ -4,24 +4,33 @@ import com.syberry.bakery.converter.CompensationConverter;
 import com.syberry.bakery.dto.CompensationDto;
 import com.syberry.bakery.dto.CompensationFilterDto;
 import com.syberry.bakery.dto.CompensationShortViewDto;
+import com.syberry.bakery.dto.CountMode;
+import com.syberry.bakery.dto.SliceDto;
 import com.syberry.bakery.entity.Compensation;
 import com.syberry.bakery.entity.Employee;
+import com.syberry.bakery.entity.User;
 import com.syberry.bakery.exception.AccessException;
 import com.syberry.bakery.exception.CreateException;
 import com.syberry.bakery.exception.EntityNotFoundException;
 import com.syberry.bakery.repository.CompensationRepository;
 import com.syberry.bakery.service.CompensationService;
 import com.syberry.bakery.service.specification.CompensationSpecification;
+import com.syberry.bakery.util.CountCache;
+import com.syberry.bakery.util.KeysetCursor;
+import com.syberry.bakery.util.OverlapGuard;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import javax.transaction.Transactional;
-import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 
 import static com.syberry.bakery.util.SecurityContextUtil.getUserDetails;
 
@@ -29,43 +38,66 @@ import static com.syberry.bakery.util.SecurityContextUtil.getUserDetails;
 @Slf4j
 @RequiredArgsConstructor
 public class CompensationServiceImpl implements CompensationService {
+    private static final Set<Class<?>> COUNTED_ENTITIES = Set.of(Compensation.class, Employee.class, User.class);
 
     private final CompensationRepository compensationRepository;
     private final EmployeeServiceImpl employeeService;
     private final CompensationConverter compensationConverter;
     private final CompensationSpecification specification;
+    private final CountCache countCache;
+    private final OverlapGuard overlapGuard;
 
     @Override
+    @Transactional(readOnly = true)
     @PreAuthorize("hasAnyRole('ADMIN', 'ACCOUNTANT')")
-    public Page<CompensationShortViewDto> getAllCompensations(CompensationFilterDto filter, Pageable pageable) {
-        return compensationRepository.findAll(specification.buildGetAllSpecification(filter), pageable)
-                .map(compensationConverter::convertToShortViewDto);
+    public Slice<CompensationShortViewDto> getAllCompensations(CompensationFilterDto filter, CountMode countMode,
+                                                               Pageable pageable) {
+        Specification<Compensation> getAllSpecification = specification.buildGetAllSpecification(filter);
+        return switch (countMode) {
+            case EXACT -> compensationRepository.findAllShortViews(getAllSpecification, pageable);
+            case NONE -> compensationRepository.findAllShortViewsAsSlice(getAllSpecification, pageable);
+            case APPROXIMATE -> new PageImpl<>(
+                    compensationRepository.findAllShortViewsAsSlice(getAllSpecification, pageable).getContent(),
+                    pageable, countCache.get(COUNTED_ENTITIES, CountCache.filterKey(filter),
+                    () -> compensationRepository.count(getAllSpecification)));
+        };
     }
 
     @Override
+    @Transactional(readOnly = true)
+    @PreAuthorize("hasAnyRole('ADMIN', 'ACCOUNTANT')")
+    public SliceDto<CompensationShortViewDto> scrollAllCompensations(CompensationFilterDto filter, String cursor,
+                                                                     Pageable pageable) {
+        return compensationRepository.findSliceShortViews(specification.buildGetAllSpecification(filter),
+                KeysetCursor.of(cursor, pageable.getSort()), pageable.getPageSize());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     @PreAuthorize("hasAnyRole('ADMIN', 'ACCOUNTANT')")
     public Page<CompensationShortViewDto> getCompensationsByEmployeeId(Long id, CompensationFilterDto filter,
                                                                        Pageable pageable) {
-        return compensationRepository.findAll(specification.buildGetAllByEmployeeIdSpecification(id, filter), pageable)
-                .map(compensationConverter::convertToShortViewDto);
+        return compensationRepository.findAllShortViews(specification.buildGetAllByEmployeeIdSpecification(id, filter), pageable);
     }
 
     @Override
+    @Transactional(readOnly = true)
     @PreAuthorize("hasAnyRole('ADMIN', 'HR', 'ACCOUNTANT', 'USER')")
     public Page<CompensationShortViewDto> getAuthorisedUserCompensations(CompensationFilterDto filter, Pageable pageable) {
         String email = getUserDetails().getUsername();
         Long employeeId = employeeService.getEmployeeByUserEmailAndBlockedFalse(email).getId();
-        return compensationRepository.findAll(specification.buildGetAllByEmployeeIdSpecification(employeeId, filter), pageable)
-                .map(compensationConverter::convertToShortViewDto);
+        return compensationRepository.findAllShortViews(specification.buildGetAllByEmployeeIdSpecification(employeeId, filter), pageable);
     }
 
     @Override
+    @Transactional(readOnly = true)
     @PreAuthorize("hasAnyRole('ADMIN', 'ACCOUNTANT')")
     public CompensationDto getCompensationById(Long id) {
         return compensationConverter.convertToDto(getCompensationByIdAndUserIsBlockedFalse(id));
     }
 
     @Override
+    @Transactional(readOnly = true)
     @PreAuthorize("hasAnyRole('ADMIN', 'HR', 'ACCOUNTANT', 'USER')")
     public CompensationDto getAuthorisedUserCompensationById(Long id) {
         Compensation compensation = getCompensationByIdAndUserIsBlockedFalse(id);
@@ -78,6 +110,7 @@ public class CompensationServiceImpl implements CompensationService {
 
     @Override
     @PreAuthorize("hasAnyRole('ADMIN')")
+    @Transactional
     public CompensationDto createCompensation(CompensationDto dto) {
         Employee employee = employeeService.getEmployeeByIdAndUserIsBlockedFalse(dto.getEmployeeId());
         validateDates(dto);
@@ -109,7 +142,7 @@ public class CompensationServiceImpl implements CompensationService {
 
     private Compensation getCompensationByIdAndUserIsBlockedFalse(Long id) {
         log.info("Getting compensation by id and user isBlocked false");
-        return compensationRepository.findByIdAndEmployeeUserIsBlockedFalse(id)
+        return compensationRepository.findByIdAndEmployeeActiveTrue(id)
                 .orElseThrow(() -> new EntityNotFoundException("Compensation is not found"));
     }
 
@@ -117,9 +150,8 @@ public class CompensationServiceImpl implements CompensationService {
         if (dto.getValidUntil().isBefore(dto.getEffectiveFrom()) || dto.getValidUntil().equals(dto.getEffectiveFrom())) {
             throw new CreateException("validUntil date must be later than effectiveFrom date");
         }
-        List<Compensation> list = compensationRepository.findByDatesCrossingInEmployee(dto.getEmployeeId(),
-                dto.getEffectiveFrom(), dto.getValidUntil());
-        if (list.size() > 1 || (list.size() == 1 && !Objects.equals(list.get(0).getId(), dto.getId()))) {
+        if (overlapGuard.compensationOverlaps(dto.getEmployeeId(), dto.getId(), dto.getEffectiveFrom(),
+                dto.getValidUntil())) {
             throw new CreateException("effectiveFrom and validUntil dates cannot overlap with other employee's compensations");
         }
     }
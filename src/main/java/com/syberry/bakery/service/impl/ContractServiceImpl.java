@@ -5,6 +5,7 @@ import com.syberry.bakery.dto.ContractFullDto;
 import com.syberry.bakery.dto.ContractSaveDto;
 import com.syberry.bakery.dto.ContractShortDto;
 import com.syberry.bakery.dto.RoleName;
+import com.syberry.bakery.dto.SliceDto;
 import com.syberry.bakery.entity.Contract;
 import com.syberry.bakery.entity.Employee;
 import com.syberry.bakery.exception.AccessException;
@@ -15,13 +16,17 @@ import com.syberry.bakery.exception.UpdateException;
 import com.syberry.bakery.repository.ContractRepository;
 import com.syberry.bakery.repository.EmployeeRepository;
 import com.syberry.bakery.service.ContractService;
+import com.syberry.bakery.util.KeysetCursor;
+import com.syberry.bakery.util.LeaveBalanceLedger;
+import com.syberry.bakery.util.OverlapGuard;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import javax.transaction.Transactional;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Objects;
@@ -36,19 +41,32 @@ import static com.syberry.bakery.util.SecurityContextUtil.hasAuthority;
 public class ContractServiceImpl implements ContractService {
     private final ContractRepository contractRepository;
     private final EmployeeRepository employeeRepository;
+    private final LeaveBalanceLedger leaveBalanceLedger;
+    private final OverlapGuard overlapGuard;
 
     @Override
+    @Transactional(readOnly = true)
     @PreAuthorize("hasAnyRole('ADMIN', 'HR', 'ACCOUNTANT')")
     public Page<ContractShortDto> getAllContracts(Pageable pageable, String name) {
-        return contractRepository
-                .findByEmployeeIsBlockedFalseAndFilterIn(pageable, name)
-                .map(ContractConverter::toShortInfoDto);
+        return contractRepository.findByEmployeeActiveTrueAndFilterIn(pageable, name);
     }
 
     @Override
+    @Transactional(readOnly = true)
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR', 'ACCOUNTANT')")
+    public SliceDto<ContractShortDto> scrollAllContracts(String cursor, Pageable pageable, String name) {
+        KeysetCursor keysetCursor = KeysetCursor.of(cursor, pageable.getSort());
+        int size = pageable.getPageSize();
+        List<ContractShortDto> rows = contractRepository.findByIdGreaterThanAndEmployeeActiveTrueAndFilterIn(
+                keysetCursor.requireAscendingId(), name, PageRequest.of(0, size + 1));
+        return keysetCursor.toSlice(rows, size, ContractShortDto::getContractId, ContractShortDto::getContractId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     @PreAuthorize("hasAnyRole('ADMIN', 'HR', 'ACCOUNTANT', 'USER')")
     public ContractFullDto getByContractId(Long id) {
-        Contract contract = contractRepository.findByIdAndEmployeeUserIsBlockedFalse(id)
+        Contract contract = contractRepository.findByIdAndEmployeeActiveTrue(id)
                 .orElseThrow(() -> new EntityNotFoundException("There is no such contract"));
         if (hasAnyAuthority(List.of(RoleName.ROLE_ADMIN, RoleName.ROLE_HR, RoleName.ROLE_ACCOUNTANT))
                 || (hasAuthority(RoleName.ROLE_USER)
@@ -60,17 +78,17 @@ public class ContractServiceImpl implements ContractService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     @PreAuthorize("hasAnyRole('ADMIN', 'HR', 'ACCOUNTANT')")
     public List<ContractShortDto> getByEmployeeId(Long id) {
-        return contractRepository.findByEmployeeIdAndEmployeeUserIsBlockedFalse(id)
-                .stream().map(ContractConverter::toShortInfoDto).toList();
+        return contractRepository.findShortByEmployeeIdAndEmployeeActiveTrue(id);
     }
 
     @Override
+    @Transactional(readOnly = true)
     @PreAuthorize("hasAnyRole('ADMIN', 'HR', 'ACCOUNTANT', 'USER')")
     public List<ContractShortDto> getAllOwnedContracts() {
-        return contractRepository.findByEmployeeUserEmailAndEmployeeUserIsBlockedFalse(getUserDetails().getUsername())
-                .stream().map(ContractConverter::toShortInfoDto).toList();
+        return contractRepository.findShortByEmployeeUserEmailAndEmployeeActiveTrue(getUserDetails().getUsername());
     }
 
     @Override
@@ -78,8 +96,8 @@ public class ContractServiceImpl implements ContractService {
     @PreAuthorize("hasAnyRole('ADMIN', 'HR')")
     public ContractFullDto saveContract(ContractSaveDto dto) {
         try {
-            if (contractRepository.findByEmployeeIdAndEmployeeUserIsBlockedFalse(dto.getEmployeeId()).isEmpty()) {
-                Employee employee = employeeRepository.findByIdAndUserIsBlockedFalse(dto.getEmployeeId())
+            if (contractRepository.findByEmployeeIdAndEmployeeActiveTrue(dto.getEmployeeId()).isEmpty()) {
+                Employee employee = employeeRepository.findByIdAndActiveTrue(dto.getEmployeeId())
                         .orElseThrow(() -> new EntityNotFoundException("There is no such user"));
                 employee.setDateOfJoin(dto.getContractStartDate());
                 employeeRepository.save(employee);
@@ -91,7 +109,9 @@ public class ContractServiceImpl implements ContractService {
             }
             checkContractDates(contract);
             contract.setCreatedAt(LocalDateTime.now());
-            return ContractConverter.toFullInfoDto(contractRepository.save(contract));
+            Contract saved = contractRepository.save(contract);
+            leaveBalanceLedger.rebuild(saved.getEmployee().getId());
+            return ContractConverter.toFullInfoDto(saved);
         } catch (IllegalArgumentException e) {
             throw new CreateException("Contract wasn't saved");
         }
@@ -108,28 +128,30 @@ public class ContractServiceImpl implements ContractService {
         }
         checkContractDates(contract);
         contract.setUpdatedAt(LocalDateTime.now());
-        return ContractConverter.toFullInfoDto(contractRepository.save(contract));
+        Contract saved = contractRepository.save(contract);
+        leaveBalanceLedger.rebuild(saved.getEmployee().getId());
+        return ContractConverter.toFullInfoDto(saved);
     }
 
     @Override
+    @Transactional
     @PreAuthorize("hasAnyRole('ADMIN', 'HR')")
     public void deleteContract(Long id) {
-        Optional<Contract> contract = contractRepository.findByIdAndEmployeeUserIsBlockedFalse(id);
+        Optional<Contract> contract = contractRepository.findByIdAndEmployeeActiveTrue(id);
         if (contract.isPresent()) {
             if (Objects.equals(getUserDetails().getUsername(), getEmailByContract(contract.get()))) {
                 throw new DeleteException("You can't delete your contract");
             }
             contractRepository.deleteById(id);
+            leaveBalanceLedger.rebuild(contract.get().getEmployee().getId());
         } else {
             throw new DeleteException("There is no such contract");
         }
     }
 
     private void checkContractDates(Contract contract) {
-        List<Contract> forCheckData = contractRepository
-                .findByEmployeeIdAndContractStartDateOrContractEndDateBetween(contract.getEmployee().getId(),
-                contract.getContractStartDate(), contract.getContractEndDate());
-        if (forCheckData.size() != 0 && forCheckData.stream().noneMatch((l) -> l.getId().equals(contract.getId()))) {
+        if (overlapGuard.contractOverlaps(contract.getEmployee().getId(), contract.getId(),
+                contract.getContractStartDate(), contract.getContractEndDate())) {
             throw new CreateException("You already have contract on this period");
         }
         if (contract.getContractStartDate().isAfter(contract.getContractEndDate())){
@@ -141,7 +163,7 @@ public class ContractServiceImpl implements ContractService {
     }
 
     private Contract checkFieldsForUpdate(ContractSaveDto dto) {
-        Contract contract = contractRepository.findByIdAndEmployeeUserIsBlockedFalse(dto.getId())
+        Contract contract = contractRepository.findByIdAndEmployeeActiveTrue(dto.getId())
                 .orElseThrow(() -> new EntityNotFoundException("There is no such contract"));
         if (!Objects.equals(dto.getEmployeeId(), contract.getEmployee().getId())){
             throw new UpdateException("You can't change employee");
@@ -1,30 +1,31 @@
 package com.syberry.bakery.service.impl;
 
-import com.google.common.io.CharStreams;
 import com.syberry.bakery.dto.EmailDetails;
+import com.syberry.bakery.entity.EmailOutbox;
 import com.syberry.bakery.exception.EmailException;
+import com.syberry.bakery.repository.EmailOutboxRepository;
 import com.syberry.bakery.service.EmailService;
+import com.syberry.bakery.util.EmailTemplateEngine;
 import lombok.RequiredArgsConstructor;
-import org.springframework.core.io.ClassPathResource;
-import org.springframework.core.io.Resource;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import javax.mail.MessagingException;
 import javax.mail.internet.MimeMessage;
-import java.io.File;
-import java.io.IOException;
-import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.util.HashMap;
+import java.time.Instant;
 import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 public class EmailServiceImpl implements EmailService {
+    private static final String EMAIL_VERIFICATION_TEMPLATE = "email-verification.html";
+    private static final String RESET_PASSWORD_TEMPLATE = "reset-password-email.html";
+
     private final JavaMailSender mailSender;
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final EmailTemplateEngine templateEngine;
 
     @Override
     public void sendEmail(EmailDetails emailDetails) {
@@ -40,42 +41,33 @@ public class EmailServiceImpl implements EmailService {
         mailSender.send(message);
     }
 
+    @Override
+    @Transactional
+    public void enqueueEmail(EmailDetails emailDetails) {
+        Instant now = Instant.now();
+        emailOutboxRepository.save(EmailOutbox.builder()
+                .recipient(emailDetails.getRecipient())
+                .subject(emailDetails.getSubject())
+                .msgBody(emailDetails.getMsgBody())
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build());
+    }
+
     @Override
     public String getTemplate(String htmlTemplate, Map<String, String> values) {
-        for (String key : values.keySet()) {
-            htmlTemplate = htmlTemplate.replace("{{" + key + "}}", values.get(key));
-        }
-        return htmlTemplate;
+        return templateEngine.renderSource(htmlTemplate, values);
     }
 
     @Override
     public void sendEmailVerificationCode(String code, String userEmail) {
-        String emailTemplate;
-        try {
-            Resource resource = new ClassPathResource("html" + File.separator + "email-verification.html");
-            emailTemplate = CharStreams.toString(new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8));
-        } catch (IOException e) {
-            throw new EmailException("Failed to send verification email");
-        }
-        Map<String, String> values = new HashMap<>();
-        values.put("code", code);
-        EmailDetails email = new EmailDetails(userEmail,
-                getTemplate(emailTemplate, values), "2 Factor Authentication");
-        sendEmail(email);
+        String body = templateEngine.render(EMAIL_VERIFICATION_TEMPLATE, Map.of("code", code));
+        enqueueEmail(new EmailDetails(userEmail, body, "2 Factor Authentication"));
     }
 
     @Override
     public void sendResetPasswordEmail(String token, String userEmail) {
-        String emailTemplate;
-        try {
-            Resource resource = new ClassPathResource("html" + File.separator + "reset-password-email.html");
-            emailTemplate = CharStreams.toString(new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8));
-        } catch (IOException e) {
-            throw new EmailException("Failed to send verification email");
-        }
-        Map<String, String> values = new HashMap<>();
-        values.put("token", token);
-        EmailDetails email = new EmailDetails(userEmail, getTemplate(emailTemplate, values), "Reset Password");
-        sendEmail(email);
+        String body = templateEngine.render(RESET_PASSWORD_TEMPLATE, Map.of("token", token));
+        enqueueEmail(new EmailDetails(userEmail, body, "Reset Password"));
     }
 }
@@ -3,6 +3,7 @@ package com.syberry.bakery.service.impl;
 import com.syberry.bakery.converter.EmployeeConverter;
 import com.syberry.bakery.dto.EmployeeDto;
 import com.syberry.bakery.dto.EmployeeShortViewDto;
+import com.syberry.bakery.dto.SliceDto;
 import com.syberry.bakery.entity.Employee;
 import com.syberry.bakery.entity.User;
 import com.syberry.bakery.exception.AccessException;
@@ -10,16 +11,20 @@ import com.syberry.bakery.exception.CreateException;
 import com.syberry.bakery.exception.EntityNotFoundException;
 import com.syberry.bakery.repository.EmployeeRepository;
 import com.syberry.bakery.repository.UserRepository;
+import com.syberry.bakery.security.SecurityVersionRegistry;
 import com.syberry.bakery.service.EmployeeService;
+import com.syberry.bakery.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import javax.transaction.Transactional;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Objects;
 
 import static com.syberry.bakery.util.SecurityContextUtil.getUserDetails;
@@ -32,6 +37,7 @@ public class EmployeeServiceImpl implements EmployeeService {
     private final EmployeeRepository employeeRepository;
     private final EmployeeConverter employeeConverter;
     private final UserRepository userRepository;
+    private final SecurityVersionRegistry securityVersionRegistry;
 
     private User getUserByEmailAndBlockedFalse(String email) {
         log.info("Getting user by email and blocked false");
@@ -41,30 +47,43 @@ public class EmployeeServiceImpl implements EmployeeService {
 
     protected Employee getEmployeeByUserEmailAndBlockedFalse(String email) {
         log.info("Getting employee by user email and blocked false");
-        return employeeRepository.findByUserEmailIgnoreCaseAndUserIsBlockedFalse(email)
+        return employeeRepository.findByUserEmailIgnoreCaseAndActiveTrue(email)
                 .orElseThrow(() -> new EntityNotFoundException("User is not found"));
     }
 
     public Employee getEmployeeByIdAndUserIsBlockedFalse(Long id) {
         log.info("Getting employee by id and user is blocked false");
-        return employeeRepository.findByIdAndUserIsBlockedFalse(id)
+        return employeeRepository.findByIdAndActiveTrue(id)
                 .orElseThrow(() -> new EntityNotFoundException("Employee is not found"));
     }
 
     @Override
+    @Transactional(readOnly = true)
     @PreAuthorize("hasAnyRole('ADMIN', 'HR', 'ACCOUNTANT')")
     public Page<EmployeeShortViewDto> getAllEmployees(Pageable pageable, String name) {
-        return employeeRepository.findByUserIsBlockedFalseAndFilterIn(name, pageable)
-                .map(employeeConverter::convertToEmployeeShortViewDto);
+        return employeeRepository.findByActiveTrueAndFilterIn(name, pageable);
     }
 
     @Override
+    @Transactional(readOnly = true)
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR', 'ACCOUNTANT')")
+    public SliceDto<EmployeeShortViewDto> scrollAllEmployees(String cursor, Pageable pageable, String name) {
+        KeysetCursor keysetCursor = KeysetCursor.of(cursor, pageable.getSort());
+        int size = pageable.getPageSize();
+        List<EmployeeShortViewDto> rows = employeeRepository.findByIdGreaterThanAndActiveTrueAndFilterIn(
+                keysetCursor.requireAscendingId(), name, PageRequest.of(0, size + 1));
+        return keysetCursor.toSlice(rows, size, EmployeeShortViewDto::getId, EmployeeShortViewDto::getId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     @PreAuthorize("hasAnyRole('ADMIN', 'HR', 'ACCOUNTANT')")
     public EmployeeDto getEmployeeById(Long id) {
         return employeeConverter.convertToEmployeeDto(getEmployeeByIdAndUserIsBlockedFalse(id));
     }
 
     @Override
+    @Transactional(readOnly = true)
     @PreAuthorize("hasAnyRole('ADMIN', 'HR', 'ACCOUNTANT', 'USER')")
     public EmployeeDto getEmployeeProfile() {
         String email = getUserDetails().getUsername();
@@ -80,7 +99,7 @@ public class EmployeeServiceImpl implements EmployeeService {
         throwErrorIfOwnedEmployee(employeeDto.getEmail());
         String email = employeeDto.getEmail();
         User user = getUserByEmailAndBlockedFalse(email);
-        if (employeeRepository.findByUserEmailIgnoreCaseAndUserIsBlockedFalse(email).isPresent()) {
+        if (employeeRepository.findByUserEmailIgnoreCaseAndActiveTrue(email).isPresent()) {
             throw new CreateException("Employee is already created");
         }
         Employee employee = employeeConverter.convertToEntity(employeeDto);
@@ -107,6 +126,8 @@ public class EmployeeServiceImpl implements EmployeeService {
         employee.setDeletedAt(LocalDateTime.now());
         employee.getUser().setDisabledAt(LocalDateTime.now());
         employee.getUser().setIsBlocked(true);
+        employee.setActive(false);
+        securityVersionRegistry.bump(employee.getUser());
     }
 
     private void throwErrorIfOwnedEmployee(String email) {
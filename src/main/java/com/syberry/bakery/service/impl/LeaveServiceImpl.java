@@ -1,13 +1,17 @@
 package com.syberry.bakery.service.impl;
 
 import com.syberry.bakery.converter.LeaveConverter;
+import com.syberry.bakery.dto.CountMode;
 import com.syberry.bakery.dto.LeaveFullDto;
 import com.syberry.bakery.dto.LeaveSaveDto;
 import com.syberry.bakery.dto.LeaveShortDto;
 import com.syberry.bakery.dto.LeaveStatus;
 import com.syberry.bakery.dto.LeaveType;
 import com.syberry.bakery.dto.RoleName;
+import com.syberry.bakery.dto.SliceDto;
+import com.syberry.bakery.entity.Employee;
 import com.syberry.bakery.entity.Leave;
+import com.syberry.bakery.entity.User;
 import com.syberry.bakery.exception.AccessException;
 import com.syberry.bakery.exception.CreateException;
 import com.syberry.bakery.exception.DeleteException;
@@ -17,18 +21,24 @@ import com.syberry.bakery.repository.EmployeeRepository;
 import com.syberry.bakery.repository.LeaveRepository;
 import com.syberry.bakery.service.LeaveService;
 import com.syberry.bakery.service.specification.LeaveSpecification;
-import com.syberry.bakery.util.LeaveUtil;
+import com.syberry.bakery.util.CountCache;
+import com.syberry.bakery.util.KeysetCursor;
+import com.syberry.bakery.util.LeaveBalanceLedger;
+import com.syberry.bakery.util.OverlapGuard;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import javax.transaction.Transactional;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
 import static com.syberry.bakery.util.SecurityContextUtil.getUserDetails;
 import static com.syberry.bakery.util.SecurityContextUtil.hasAnyAuthority;
@@ -37,43 +47,64 @@ import static com.syberry.bakery.util.SecurityContextUtil.hasAuthority;
 @Service
 @RequiredArgsConstructor
 public class LeaveServiceImpl implements LeaveService {
+    private static final Set<Class<?>> COUNTED_ENTITIES = Set.of(Leave.class, Employee.class, User.class);
+
     private final LeaveRepository leaveRepository;
     private final EmployeeRepository employeeRepository;
-    private final LeaveUtil leaveUtil;
+    private final LeaveBalanceLedger leaveBalanceLedger;
+    private final OverlapGuard overlapGuard;
+    private final CountCache countCache;
+
+    @Override
+    @Transactional(readOnly = true)
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR', 'ACCOUNTANT')")
+    public Slice<LeaveShortDto> getAll(Pageable pageable, CountMode countMode, String name, List<LeaveType> leaveTypes,
+                                       List<LeaveStatus> leaveStatuses) {
+        Specification<Leave> specification = LeaveSpecification.forNameTypeStatus(name, leaveTypes, leaveStatuses);
+        return switch (countMode) {
+            case EXACT -> leaveRepository.findAllShort(specification, pageable);
+            case NONE -> leaveRepository.findAllShortAsSlice(specification, pageable);
+            case APPROXIMATE -> new PageImpl<>(
+                    leaveRepository.findAllShortAsSlice(specification, pageable).getContent(), pageable,
+                    countCache.get(COUNTED_ENTITIES, CountCache.filterKey(name, leaveTypes, leaveStatuses),
+                            () -> leaveRepository.count(specification)));
+        };
+    }
 
     @Override
+    @Transactional(readOnly = true)
     @PreAuthorize("hasAnyRole('ADMIN', 'HR', 'ACCOUNTANT')")
-    public Page<LeaveShortDto> getAll(Pageable pageable, String name, List<LeaveType> leaveTypes, List<LeaveStatus> leaveStatuses) {
-        return leaveRepository.findAll(LeaveSpecification.forNameTypeStatus(name, leaveTypes, leaveStatuses), pageable)
-                .map(LeaveConverter::toShortDto);
+    public SliceDto<LeaveShortDto> scrollAll(String cursor, Pageable pageable, String name, List<LeaveType> leaveTypes,
+                                             List<LeaveStatus> leaveStatuses) {
+        KeysetCursor keysetCursor = KeysetCursor.of(cursor, pageable.getSort());
+        Specification<Leave> specification = LeaveSpecification.forNameTypeStatus(name, leaveTypes, leaveStatuses);
+        return leaveRepository.findSliceShort(specification, keysetCursor, pageable.getPageSize());
     }
 
     @Override
+    @Transactional(readOnly = true)
     @PreAuthorize("hasAnyRole('ADMIN', 'HR', 'ACCOUNTANT')")
     public List<LeaveShortDto> getByEmployeeId(Long id) {
-        return leaveRepository
-                .findByEmployeeIdAndEmployeeUserIsBlockedFalse(id)
-                .stream().map(LeaveConverter::toShortDto)
-                .toList();
+        return leaveRepository.findShortByEmployeeIdAndEmployeeActiveTrue(id);
     }
 
     @Override
+    @Transactional(readOnly = true)
     @PreAuthorize("hasAnyRole('ADMIN', 'HR', 'ACCOUNTANT', 'USER')")
     public List<LeaveShortDto> getAllOwnedContracts() {
-        return leaveRepository.findByEmployeeUserEmailAndEmployeeUserIsBlockedFalse(getUserDetails().getUsername())
-                .stream().map(LeaveConverter::toShortDto)
-                .toList();
+        return leaveRepository.findShortByEmployeeUserEmailAndEmployeeActiveTrue(getUserDetails().getUsername());
     }
 
     @Override
+    @Transactional(readOnly = true)
     @PreAuthorize("hasAnyRole('ADMIN', 'HR', 'ACCOUNTANT', 'USER')")
     public LeaveFullDto getById(Long id) {
-        Leave leave = leaveRepository.findByIdAndEmployeeUserIsBlockedFalse(id)
+        Leave leave = leaveRepository.findByIdAndEmployeeActiveTrue(id)
                 .orElseThrow(() -> new EntityNotFoundException("There is no such leave"));
         if (hasAnyAuthority(List.of(RoleName.ROLE_ADMIN, RoleName.ROLE_HR, RoleName.ROLE_ACCOUNTANT)) ||
                 (hasAuthority(RoleName.ROLE_USER)
                         && Objects.equals(getEmailByLeave(leave), getUserDetails().getUsername()))) {
-            return LeaveConverter.toFullDto(leave, leaveUtil);
+            return LeaveConverter.toFullDto(leave, leaveBalanceLedger);
         }
         throw new AccessException("Viewing other people's leaves is prohibited");
     }
@@ -87,7 +118,8 @@ public class LeaveServiceImpl implements LeaveService {
                 (hasAnyAuthority(List.of(RoleName.ROLE_USER, RoleName.ROLE_HR, RoleName.ROLE_ACCOUNTANT))
                         && Objects.equals(getEmailByLeave(leave), getUserDetails().getUsername()))) {
             validateLeave(leave);
-            return LeaveConverter.toFullDto(leaveRepository.save(leave), leaveUtil);
+            addToBalance(leave);
+            return LeaveConverter.toFullDto(leaveRepository.save(leave), leaveBalanceLedger);
         }
         throw new CreateException("You can create leave only for yourself");
     }
@@ -96,7 +128,7 @@ public class LeaveServiceImpl implements LeaveService {
     @Transactional
     @PreAuthorize("hasAnyRole('ADMIN', 'HR')")
     public LeaveFullDto update(LeaveSaveDto dto) {
-        Leave leave = leaveRepository.findByIdAndEmployeeUserIsBlockedFalse(dto.getId())
+        Leave leave = leaveRepository.findByIdAndEmployeeActiveTrue(dto.getId())
                 .orElseThrow(() -> new EntityNotFoundException("There is no such leave"));
         if (Objects.equals(getUserDetails().getUsername(), getEmailByLeave(leave))) {
             throw new UpdateException("You can't update leave for yourself");
@@ -104,6 +136,7 @@ public class LeaveServiceImpl implements LeaveService {
         if (!Objects.equals(dto.getEmployeeId(), leave.getEmployee().getId())){
             throw new UpdateException("You can't change employee");
         }
+        leaveBalanceLedger.remove(leave);
         leave.setLeaveType(dto.getLeaveType());
         leave.setLeaveStartDate(dto.getLeaveStartDate());
         leave.setLeaveEndDate(dto.getLeaveEndDate());
@@ -111,17 +144,20 @@ public class LeaveServiceImpl implements LeaveService {
         leave.setLeaveReason(dto.getLeaveReason());
         leave.setUpdatedAt(LocalDateTime.now());
         validateLeave(leave);
+        addToBalance(leave);
         return getById(leave.getId());
     }
 
     @Override
+    @Transactional
     @PreAuthorize("hasAnyRole('ADMIN')")
     public void delete(Long id) {
-        Optional<Leave> leave = leaveRepository.findByIdAndEmployeeUserIsBlockedFalse(id);
+        Optional<Leave> leave = leaveRepository.findByIdAndEmployeeActiveTrue(id);
         if (leave.isPresent()) {
             if (Objects.equals(getEmailByLeave(leave.get()), getUserDetails().getUsername())) {
                 throw new DeleteException("You can't delete your contract");
             }
+            leaveBalanceLedger.remove(leave.get());
             leaveRepository.deleteById(id);
         } else {
             throw new DeleteException("There is no such leave");
@@ -129,22 +165,20 @@ public class LeaveServiceImpl implements LeaveService {
     }
 
     private void validateLeave(Leave leave) {
-        List<Leave> forCheckData = leaveRepository.findByEmployeeIdAndLeaveStartDateOrLeaveEndDateBetween(leave.getEmployee().getId(),
-                leave.getLeaveStartDate(), leave.getLeaveEndDate());
-        if (forCheckData.size() != 0 && forCheckData.stream().noneMatch((l) -> l.getId().equals(leave.getId()))) {
+        if (overlapGuard.leaveOverlaps(leave.getEmployee().getId(), leave.getId(),
+                leave.getLeaveStartDate(), leave.getLeaveEndDate())) {
             throw new CreateException("You already have planned leave on this days");
         }
         if (leave.getLeaveStartDate().isAfter(leave.getLeaveEndDate())){
             throw new CreateException("End data can't be earlier then start data");
         }
-        if (leave.getLeaveType() == LeaveType.SICK_DAY) {
-            if (!leaveUtil.checkRemainingDays(leave, LeaveType.SICK_DAY)) {
-                throw new CreateException("You don't have enough sick days");
-            }
-        } else if (leave.getLeaveType() == LeaveType.PAID_LEAVE) {
-            if (!leaveUtil.checkRemainingDays(leave, LeaveType.PAID_LEAVE)) {
-                throw new CreateException("You don't have enough paid leave days");
-            }
+    }
+
+    private void addToBalance(Leave leave) {
+        if (!leaveBalanceLedger.add(leave)) {
+            throw new CreateException(leave.getLeaveType() == LeaveType.SICK_DAY
+                    ? "You don't have enough sick days"
+                    : "You don't have enough paid leave days");
         }
     }
 
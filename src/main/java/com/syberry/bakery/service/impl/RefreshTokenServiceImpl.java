@@ -6,56 +6,77 @@ import com.syberry.bakery.entity.User;
 import com.syberry.bakery.exception.EntityNotFoundException;
 import com.syberry.bakery.exception.TokenRefreshException;
 import com.syberry.bakery.repository.RefreshTokenRepository;
-import com.syberry.bakery.repository.UserRepository;
 import com.syberry.bakery.service.RefreshTokenService;
 import com.syberry.bakery.util.JwtUtils;
-import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.ResponseCookie;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.UUID;
 
 @Service
-@RequiredArgsConstructor
 public class RefreshTokenServiceImpl implements RefreshTokenService {
-    @Value("${bakery.security.jwtRefreshExpirationHr}")
-    private Long refreshTokenDurationHr;
-
+    private final Long refreshTokenDurationHr;
     private final RefreshTokenRepository refreshTokenRepository;
-
-    private final UserRepository userRepository;
     private final JwtUtils jwtUtils;
+    private final TransactionTemplate newTransaction;
 
+    public RefreshTokenServiceImpl(@Value("${bakery.security.jwtRefreshExpirationHr}") Long refreshTokenDurationHr,
+                                   RefreshTokenRepository refreshTokenRepository, JwtUtils jwtUtils,
+                                   PlatformTransactionManager transactionManager) {
+        this.refreshTokenDurationHr = refreshTokenDurationHr;
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.jwtUtils = jwtUtils;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
 
     @Override
+    @Transactional(noRollbackFor = TokenRefreshException.class)
     public LoginDto refreshAccessToken(String token) {
         User user = verifyExpiration(token).getUser();
+        if (user.getIsBlocked()) {
+            throw new EntityNotFoundException("User is not found");
+        }
         ResponseCookie accessToken = jwtUtils.generateJwtCookie(user);
-        ResponseCookie refreshToken = jwtUtils.generateRefreshJwtCookie(createRefreshToken(user.getId()).getToken());
+        ResponseCookie refreshToken = jwtUtils.generateRefreshJwtCookie(createRefreshToken(user));
         return new LoginDto(accessToken.toString(), refreshToken.toString(), null);
     }
 
+    /**
+     * Renews the user's token row in place, inserting it on the first login. Each statement runs in its own
+     * transaction: a failed insert leaves no transaction to retry in, and an empty update would otherwise
+     * keep its gap lock on the user_id index and block our own insert. When a concurrent first login
+     * inserts the row between the update and the insert, the unique user_id violation falls back to the update.
+     */
     @Override
-    @Transactional
-    public RefreshToken createRefreshToken(Long userId) {
-        User user = userRepository.findByIdAndIsBlockedFalse(userId)
-                .orElseThrow(() -> new EntityNotFoundException("User is not found"));
-        RefreshToken refreshToken;
-        if (refreshTokenRepository.findByUser(user).isPresent()) {
-            refreshToken = refreshTokenRepository.findByUser(user)
-                    .orElseThrow(() -> new EntityNotFoundException("Refresh token is not found"));
-        } else {
-            refreshToken = new RefreshToken();
-            refreshToken.setUser(user);
+    public String createRefreshToken(User user) {
+        String token = UUID.randomUUID().toString();
+        Instant expiryDate = Instant.now().plus(refreshTokenDurationHr, ChronoUnit.HOURS);
+        if (!renewToken(user, token, expiryDate)) {
+            try {
+                newTransaction.executeWithoutResult(status ->
+                        refreshTokenRepository.saveAndFlush(new RefreshToken(null, user, token, expiryDate)));
+            } catch (DataIntegrityViolationException e) {
+                if (!renewToken(user, token, expiryDate)) {
+                    throw e;
+                }
+            }
         }
-        refreshToken.setExpiryDate(Instant.now().plus(refreshTokenDurationHr, ChronoUnit.HOURS));
-        refreshToken.setToken(UUID.randomUUID().toString());
-        refreshTokenRepository.save(refreshToken);
-        return refreshToken;
+        return token;
+    }
+
+    private boolean renewToken(User user, String token, Instant expiryDate) {
+        Integer updated = newTransaction.execute(status ->
+                refreshTokenRepository.updateTokenByUserId(user.getId(), token, expiryDate));
+        return updated != null && updated > 0;
     }
 
     @Override
@@ -72,6 +93,6 @@ public class RefreshTokenServiceImpl implements RefreshTokenService {
     @Override
     @Transactional
     public void deleteByUserId(Long userId) {
-        refreshTokenRepository.deleteByUserId(userRepository.findByIdAndIsBlockedFalse(userId).get().getId());
+        refreshTokenRepository.deleteByUserId(userId);
     }
 }
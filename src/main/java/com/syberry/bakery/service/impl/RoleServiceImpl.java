@@ -10,8 +10,11 @@ import com.syberry.bakery.entity.User;
 import com.syberry.bakery.exception.EntityNotFoundException;
 import com.syberry.bakery.repository.RoleRepository;
 import com.syberry.bakery.repository.UserRepository;
+import com.syberry.bakery.security.SecurityVersionRegistry;
 import com.syberry.bakery.service.RoleService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
@@ -29,6 +32,7 @@ public class RoleServiceImpl implements RoleService {
     private final RoleRepository roleRepository;
     private final RoleConverter roleConverter;
     private final UserConverter userConverter;
+    private final SecurityVersionRegistry securityVersionRegistry;
 
     @Override
     @Transactional
@@ -41,6 +45,7 @@ public class RoleServiceImpl implements RoleService {
         Set<Role> roles = user.getRoles();
         roles.add(role);
         user.setRoles(roles);
+        securityVersionRegistry.bump(user);
         return userConverter.convertToDto(userRepository.findByIdAndIsBlockedFalse(userId).get());
     }
 
@@ -66,18 +71,32 @@ public class RoleServiceImpl implements RoleService {
             }
         }
         user.setRoles(roles);
+        securityVersionRegistry.bump(user);
         return userConverter.convertToDto(userRepository.findByIdAndIsBlockedFalse(userId).get());
     }
 
     @Override
+    @Transactional(readOnly = true)
     @PreAuthorize("hasRole('ADMIN')")
     public List<RoleDto> getRoles() {
         return roleConverter.convertToDtos(roleRepository.findAll());
     }
 
     @Override
+    @Transactional(readOnly = true)
     @PreAuthorize("hasRole('ADMIN')")
     public RoleDto getRoleById(Long id) {
         return roleConverter.convertToDto(roleRepository.findById(id).get());
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    @PreAuthorize("hasRole('ADMIN') or hasRole('HR')")
+    public Page<UserDto> getUsersInRole(Long roleId, Pageable pageable) {
+        if (!roleRepository.existsById(roleId)) {
+            throw new EntityNotFoundException("Role is not found");
+        }
+        return userRepository.findByRolesIdAndIsBlockedFalse(roleId, pageable)
+                .map(userConverter::convertToDto);
+    }
 }
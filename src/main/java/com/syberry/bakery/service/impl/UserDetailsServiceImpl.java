@@ -15,10 +15,15 @@ import org.springframework.transaction.annotation.Transactional;
 public class UserDetailsServiceImpl implements UserDetailsService {
     private final UserRepository userRepository;
 
+    /**
+     * Runs read-write so the load goes to the primary: logins and principal reloads happen before anyone is
+     * authenticated, so no read-your-writes pin applies, and a lagging replica would serve an old password,
+     * blocked state or security version.
+     */
     @Override
     @Transactional
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        User user = userRepository.findByEmailAndIsBlockedFalse(email)
+        User user = userRepository.findWithRolesByEmailAndIsBlockedFalse(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User is not Found "));
 
         return UserDetailsImpl.build(user);
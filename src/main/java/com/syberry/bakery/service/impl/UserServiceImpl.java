@@ -1,20 +1,28 @@
 package com.syberry.bakery.service.impl;
 
-import com.google.common.cache.LoadingCache;
 import com.syberry.bakery.converter.RoleConverter;
 import com.syberry.bakery.converter.UserConverter;
+import com.syberry.bakery.dto.CountMode;
 import com.syberry.bakery.dto.RoleName;
 import com.syberry.bakery.dto.SignUpRequestDto;
+import com.syberry.bakery.dto.SliceDto;
 import com.syberry.bakery.dto.UserDto;
 import com.syberry.bakery.dto.UsersFilterDto;
 import com.syberry.bakery.entity.User;
 import com.syberry.bakery.exception.EntityNotFoundException;
+import com.syberry.bakery.repository.EmployeeRepository;
 import com.syberry.bakery.repository.UserRepository;
+import com.syberry.bakery.security.OneTimePasswordStore;
+import com.syberry.bakery.security.SecurityVersionRegistry;
 import com.syberry.bakery.service.EmailService;
 import com.syberry.bakery.service.UserService;
+import com.syberry.bakery.util.CountCache;
+import com.syberry.bakery.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -24,27 +32,62 @@ import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Random;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
+    private static final Set<Class<?>> COUNTED_ENTITIES = Set.of(User.class);
+
     private final UserRepository userRepository;
+    private final EmployeeRepository employeeRepository;
     private final UserConverter userConverter;
     private final RoleConverter roleConverter;
     private final PasswordEncoder encoder;
     private final EmailService emailService;
-    private final LoadingCache<String, String> oneTimePasswordCache;
+    private final OneTimePasswordStore oneTimePasswordStore;
+    private final SecurityVersionRegistry securityVersionRegistry;
+    private final CountCache countCache;
 
     @Override
+    @Transactional(readOnly = true)
     @PreAuthorize("hasRole('ADMIN') or hasRole('HR')")
-    public Page<UserDto> getAllUsers(Pageable pageable, UsersFilterDto usersFilterDto) {
-        List<RoleName> roles = usersFilterDto.getRole() == null || usersFilterDto.getRole().isEmpty() ?
+    public Slice<UserDto> getAllUsers(Pageable pageable, CountMode countMode, UsersFilterDto usersFilterDto) {
+        String firstName = usersFilterDto.getFirstName();
+        String lastName = usersFilterDto.getLastName();
+        String email = usersFilterDto.getEmail();
+        List<RoleName> roles = getRoles(usersFilterDto);
+        Slice<User> users = switch (countMode) {
+            case EXACT -> userRepository.findAllByFiltering(firstName, lastName, email, roles, pageable);
+            case NONE -> userRepository.findSliceByFiltering(firstName, lastName, email, roles, pageable);
+            case APPROXIMATE -> new PageImpl<>(
+                    userRepository.findSliceByFiltering(firstName, lastName, email, roles, pageable).getContent(),
+                    pageable, countCache.get(COUNTED_ENTITIES, CountCache.filterKey(firstName, lastName, email, roles),
+                    () -> userRepository.countAllByFiltering(firstName, lastName, email, roles)));
+        };
+        return users.map(userConverter::convertToDto);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @PreAuthorize("hasRole('ADMIN') or hasRole('HR')")
+    public SliceDto<UserDto> scrollAllUsers(String cursor, Pageable pageable, UsersFilterDto usersFilterDto) {
+        KeysetCursor keysetCursor = KeysetCursor.of(cursor, pageable.getSort());
+        int size = pageable.getPageSize();
+        List<UserDto> rows = userRepository.findAllByFilteringAfter(keysetCursor.requireAscendingId(),
+                        usersFilterDto.getFirstName(), usersFilterDto.getLastName(), usersFilterDto.getEmail(),
+                        getRoles(usersFilterDto), PageRequest.of(0, size + 1))
+                .stream().map(userConverter::convertToDto).toList();
+        return keysetCursor.toSlice(rows, size, UserDto::getId, UserDto::getId);
+    }
+
+    private List<RoleName> getRoles(UsersFilterDto usersFilterDto) {
+        return usersFilterDto.getRole() == null || usersFilterDto.getRole().isEmpty() ?
                 Arrays.stream(RoleName.values()).toList() : List.of(roleConverter.convertToRoleName(usersFilterDto.getRole()));
-        return userRepository.findAllByFiltering(usersFilterDto.getFirstName(), usersFilterDto.getLastName(), usersFilterDto.getEmail(), roles, pageable)
-                .map(userConverter::convertToDto);
     }
 
     @Override
+    @Transactional(readOnly = true)
     @PreAuthorize("hasRole('ADMIN') or hasRole('HR')")
     public UserDto getUserById(Long id) {
         return userConverter.convertToDto(userRepository.findByIdAndIsBlockedFalse(id)
@@ -68,6 +111,7 @@ public class UserServiceImpl implements UserService {
                 .orElseThrow(() -> new EntityNotFoundException("User is not found"));
 
         if (userDto.getEmail() != null && !userDto.getEmail().isEmpty()) {
+            securityVersionRegistry.bump(user);
             user.setEmail(userDto.getEmail().toLowerCase());
         }
         if (userDto.getFirstName() != null && !userDto.getFirstName().isEmpty()) {
@@ -88,6 +132,8 @@ public class UserServiceImpl implements UserService {
                 .orElseThrow(() -> new EntityNotFoundException("User is not found"));
         user.setIsBlocked(true);
         user.setDisabledAt(LocalDateTime.now());
+        employeeRepository.findByUserId(user.getId()).ifPresent(employee -> employee.setActive(false));
+        securityVersionRegistry.bump(user);
     }
 
     @Override
@@ -106,7 +152,7 @@ public class UserServiceImpl implements UserService {
 
     private void triggerToResettingPassword(User user) {
         String token = generateResetPasswordToken();
-        oneTimePasswordCache.put(user.getEmail(), token);
+        oneTimePasswordStore.put(user.getEmail(), token);
         emailService.sendResetPasswordEmail(token, user.getEmail());
     }
 
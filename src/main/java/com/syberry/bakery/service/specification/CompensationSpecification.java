@@ -8,20 +8,27 @@ import com.syberry.bakery.entity.User_;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDate;
+import javax.persistence.criteria.Path;
 import java.time.LocalDateTime;
 
 @Service
 public class CompensationSpecification {
 
+    /**
+     * Only the constraints present in the filter become predicates, so an unfiltered listing is a plain join
+     * and each filter shape maps to one query plan.
+     */
     public Specification<Compensation> buildGetAllSpecification(CompensationFilterDto filter) {
-        return buildIsBlockedFalseSpecification()
-                .and(buildNameLikeSpecification(filter.getName()))
-                .and(buildAmountBetweenSpecification(filter.getAmountStart(), filter.getAmountEnd()))
-                .and(buildEffectiveFromBetweenSpecification(filter.getEffectiveFromStart(), filter.getEffectiveFromEnd()))
-                .and(buildValidUntilBetweenSpecification(filter.getValidUntilStart(), filter.getValidUntilEnd()))
-                .and(buildUpdatedAtSpecification(filter.getIsUpdated(), filter.getUpdatedAtStart().atStartOfDay(),
-                        filter.getUpdatedAtEnd().plusDays(1).atStartOfDay()));
+        return buildEmployeeActiveSpecification()
+                .and(buildNameSpecification(filter.getName()))
+                .and(buildRangeSpecification(Compensation_.AMOUNT, filter.getAmountStart(), filter.getAmountEnd()))
+                .and(buildRangeSpecification(Compensation_.EFFECTIVE_FROM, filter.getEffectiveFromStart(),
+                        filter.getEffectiveFromEnd()))
+                .and(buildRangeSpecification(Compensation_.VALID_UNTIL, filter.getValidUntilStart(),
+                        filter.getValidUntilEnd()))
+                .and(buildUpdatedAtSpecification(filter.getIsUpdated(),
+                        filter.getUpdatedAtStart() == null ? null : filter.getUpdatedAtStart().atStartOfDay(),
+                        filter.getUpdatedAtEnd() == null ? null : filter.getUpdatedAtEnd().plusDays(1).atStartOfDay()));
     }
 
     public Specification<Compensation> buildGetAllByEmployeeIdSpecification(Long id, CompensationFilterDto filter) {
@@ -33,9 +40,16 @@ public class CompensationSpecification {
                 .get(Employee_.ID), id);
     }
 
-    private Specification<Compensation> buildIsBlockedFalseSpecification() {
-        return (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get(Compensation_.EMPLOYEE)
-                .get(Employee_.USER).get(User_.IS_BLOCKED), false);
+    private Specification<Compensation> buildEmployeeActiveSpecification() {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.isTrue(root.get(Compensation_.EMPLOYEE)
+                .get(Employee_.ACTIVE));
+    }
+
+    private Specification<Compensation> buildNameSpecification(String name) {
+        if (name == null || name.isBlank()) {
+            return null;
+        }
+        return buildNameLikeSpecification(name);
     }
 
     private Specification<Compensation> buildNameLikeSpecification(String name) {
@@ -48,33 +62,34 @@ public class CompensationSpecification {
                     "%" + name + "%");
     }
 
-    private Specification<Compensation> buildAmountBetweenSpecification(float amountStart, float amountEnd) {
-        return (root, query, criteriaBuilder) ->
-                criteriaBuilder.between(root.get(Compensation_.AMOUNT), amountStart, amountEnd);
-    }
-
-    private Specification<Compensation> buildEffectiveFromBetweenSpecification(LocalDate effectiveFromStart, LocalDate effectiveFromEnd) {
-        return (root, query, criteriaBuilder) ->
-                criteriaBuilder.between(root.get(Compensation_.EFFECTIVE_FROM), effectiveFromStart, effectiveFromEnd);
-    }
-
-    private Specification<Compensation> buildValidUntilBetweenSpecification(LocalDate validUntilStart, LocalDate validUntilEnd) {
-        return (root, query, criteriaBuilder) ->
-                criteriaBuilder.between(root.get(Compensation_.VALID_UNTIL), validUntilStart, validUntilEnd);
+    private <Y extends Comparable<? super Y>> Specification<Compensation> buildRangeSpecification(String attribute,
+                                                                                                Y start, Y end) {
+        if (start == null && end == null) {
+            return null;
+        }
+        return (root, query, criteriaBuilder) -> {
+            Path<Y> path = root.get(attribute);
+            if (start == null) {
+                return criteriaBuilder.lessThanOrEqualTo(path, end);
+            } else if (end == null) {
+                return criteriaBuilder.greaterThanOrEqualTo(path, start);
+            }
+            return criteriaBuilder.between(path, start, end);
+        };
     }
 
     private Specification<Compensation> buildUpdatedAtSpecification(Boolean isUpdated, LocalDateTime updatedAtStart,
                                                                     LocalDateTime updatedAtEnd) {
-        if (isUpdated == null){
-            return (root, query, criteriaBuilder) -> criteriaBuilder.or(
-                    criteriaBuilder.isNull(root.get(Compensation_.UPDATED_AT)),
-                    criteriaBuilder.between(root.get(Compensation_.UPDATED_AT), updatedAtStart, updatedAtEnd));
+        Specification<Compensation> updatedAtBetween =
+                buildRangeSpecification(Compensation_.UPDATED_AT, updatedAtStart, updatedAtEnd);
+        Specification<Compensation> notUpdated = (root, query, criteriaBuilder) ->
+                criteriaBuilder.isNull(root.get(Compensation_.UPDATED_AT));
+        if (isUpdated == null) {
+            return updatedAtBetween == null ? null : notUpdated.or(updatedAtBetween);
         } else if (isUpdated) {
-            return (root, query, criteriaBuilder) -> criteriaBuilder.and(
-                        criteriaBuilder.isNotNull(root.get(Compensation_.UPDATED_AT)),
-                        criteriaBuilder.between(root.get(Compensation_.UPDATED_AT), updatedAtStart, updatedAtEnd));
+            return updatedAtBetween != null ? updatedAtBetween : Specification.not(notUpdated);
         } else {
-            return (root, query, criteriaBuilder) -> criteriaBuilder.isNull(root.get(Compensation_.UPDATED_AT));
+            return notUpdated;
         }
     }
 }
@@ -16,6 +16,9 @@ import java.util.List;
 public class LeaveSpecification {
 
     public Specification<Leave> checkName(String name) {
+        if (name == null || name.isEmpty()) {
+            return null;
+        }
         return (((root, query, criteriaBuilder) -> {
             Expression<String> getFullName = criteriaBuilder
                     .concat(criteriaBuilder.concat(
@@ -25,25 +28,30 @@ public class LeaveSpecification {
         }));
     }
 
-    public Specification<Leave> isBlockedFalse() {
+    public Specification<Leave> isEmployeeActive() {
         return (((root, query, criteriaBuilder) -> criteriaBuilder
-                .equal(root.get(Leave_.EMPLOYEE).get(Employee_.USER).get(User_.IS_BLOCKED), false)));
+                .isTrue(root.get(Leave_.EMPLOYEE).get(Employee_.ACTIVE))));
     }
 
     public Specification<Leave> checkLeaveType(List<LeaveType> leaveTypes) {
-        return (((root, query, criteriaBuilder) -> leaveTypes != null
-                ? criteriaBuilder.in(root.get(Leave_.LEAVE_TYPE)).value(leaveTypes)
-                : criteriaBuilder.isNotNull(root.get(Leave_.LEAVE_TYPE))));
+        if (leaveTypes == null || leaveTypes.isEmpty()) {
+            return null;
+        }
+        return (((root, query, criteriaBuilder) -> root.get(Leave_.LEAVE_TYPE).in(leaveTypes)));
     }
 
     public Specification<Leave> checkLeaveStatus(List<LeaveStatus> leaveStatuses) {
-        return (((root, query, criteriaBuilder) -> leaveStatuses != null
-                ? criteriaBuilder.in(root.get(Leave_.LEAVE_STATUS)).value(leaveStatuses)
-                : criteriaBuilder.isNotNull(root.get(Leave_.LEAVE_STATUS))));
+        if (leaveStatuses == null || leaveStatuses.isEmpty()) {
+            return null;
+        }
+        return (((root, query, criteriaBuilder) -> root.get(Leave_.LEAVE_STATUS).in(leaveStatuses)));
     }
 
+    /**
+     * Filters that weren't supplied add no predicate rather than a catch-all one.
+     */
     public Specification<Leave> forNameTypeStatus(String name, List<LeaveType> leaveTypes, List<LeaveStatus> leaveStatuses) {
-        return isBlockedFalse()
+        return isEmployeeActive()
                 .and(checkName(name))
                 .and(checkLeaveType(leaveTypes))
                 .and(checkLeaveStatus(leaveStatuses));
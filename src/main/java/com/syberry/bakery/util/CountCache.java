@@ -0,0 +1,142 @@
+package com.syberry.bakery.util;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Total counts of list queries keyed by the entities they read and a normalized filter, for responses that
+ * only need an approximate total. An entry is dropped once a transaction writing to one of its entities
+ * commits on this node; the TTL bounds how stale a count may get through writes made on other nodes.
+ * Hit/miss statistics are published as the {@code cache.gets{cache=listCounts}} metric.
+ */
+@Component
+public class CountCache implements PostCommitInsertEventListener, PostCommitUpdateEventListener,
+        PostCommitDeleteEventListener {
+    private static final String CACHE_NAME = "listCounts";
+
+    private final Cache<Key, Long> counts;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public CountCache(@Value("${bakery.search.countCacheMaxSize}") long maxSize,
+                      @Value("${bakery.search.countCacheTtlSec}") long ttlSec,
+                      EntityManagerFactory entityManagerFactory,
+                      MeterRegistry meterRegistry) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.counts = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttlSec, TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+        GuavaCacheMetrics.monitor(meterRegistry, counts, CACHE_NAME);
+    }
+
+    @PostConstruct
+    void registerListeners() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    /**
+     * Returns the cached count of the query over {@code entities} filtered by {@code filter},
+     * running {@code count} on a miss.
+     */
+    public long get(Set<Class<?>> entities, String filter, LongSupplier count) {
+        try {
+            return counts.get(new Key(entities, filter), count::getAsLong);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Joins filter values into a cache key. Missing values and empty strings are equivalent,
+     * and collections are compared as sets.
+     */
+    public static String filterKey(Object... values) {
+        StringBuilder key = new StringBuilder();
+        for (Object value : values) {
+            if (value instanceof Collection<?> collection) {
+                key.append(collection.stream().map(String::valueOf).sorted().distinct()
+                        .collect(Collectors.joining(",", "[", "]")));
+            } else {
+                key.append(Objects.toString(value, ""));
+            }
+            key.append('\u0000');
+        }
+        return key.toString();
+    }
+
+    public void invalidate(Class<?> entity) {
+        counts.asMap().keySet().removeIf(key -> key.getEntities().contains(entity));
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        invalidate(event.getPersister().getMappedClass());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        invalidate(event.getPersister().getMappedClass());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        invalidate(event.getPersister().getMappedClass());
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    @Override
+    public boolean requiresPostCommitHanding(EntityPersister persister) {
+        return true;
+    }
+
+    @Getter
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static class Key {
+        private final Set<Class<?>> entities;
+        private final String filter;
+    }
+}
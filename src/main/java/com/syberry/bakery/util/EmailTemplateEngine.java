@@ -0,0 +1,127 @@
+package com.syberry.bakery.util;
+
+import com.google.common.io.CharStreams;
+import com.syberry.bakery.exception.EmailException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Renders the HTML email templates from {@code resources/html}. Each template is read and split into
+ * literal and {@code {{placeholder}}} segments once; rendering only appends segments to a per-thread buffer.
+ * With {@code bakery.mail.templateHotReload} enabled, templates whose file changed are parsed again.
+ */
+@Component
+public class EmailTemplateEngine {
+    private static final String TEMPLATE_DIR = "html/";
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+    private static final int MAX_RETAINED_BUFFER = 64 * 1024;
+
+    private final boolean hotReload;
+    private final Map<String, CompiledTemplate> templates = new ConcurrentHashMap<>();
+    private final ThreadLocal<StringBuilder> buffers = ThreadLocal.withInitial(() -> new StringBuilder(4096));
+
+    public EmailTemplateEngine(@Value("${bakery.mail.templateHotReload}") boolean hotReload) {
+        this.hotReload = hotReload;
+    }
+
+    public String render(String templateName, Map<String, String> values) {
+        CompiledTemplate template = templates.compute(templateName, (name, cached) ->
+                cached == null || hotReload && cached.lastModified != lastModified(name) ? load(name) : cached);
+        return render(template, values);
+    }
+
+    public String renderSource(String source, Map<String, String> values) {
+        return render(compile(source, 0L), values);
+    }
+
+    private String render(CompiledTemplate template, Map<String, String> values) {
+        StringBuilder buffer = buffers.get();
+        buffer.setLength(0);
+        for (Segment segment : template.segments) {
+            String value = segment.placeholder ? values.get(segment.text) : null;
+            if (value != null) {
+                buffer.append(value);
+            } else if (segment.placeholder) {
+                buffer.append(OPEN).append(segment.text).append(CLOSE);
+            } else {
+                buffer.append(segment.text);
+            }
+        }
+        String result = buffer.toString();
+        if (buffer.capacity() > MAX_RETAINED_BUFFER) {
+            buffers.remove();
+        }
+        return result;
+    }
+
+    private CompiledTemplate load(String templateName) {
+        Resource resource = new ClassPathResource(TEMPLATE_DIR + templateName);
+        try (Reader reader = new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8)) {
+            return compile(CharStreams.toString(reader), lastModified(templateName));
+        } catch (IOException e) {
+            throw new EmailException(e, "Failed to load email template " + templateName);
+        }
+    }
+
+    private long lastModified(String templateName) {
+        if (!hotReload) {
+            return 0L;
+        }
+        try {
+            return new ClassPathResource(TEMPLATE_DIR + templateName).lastModified();
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+
+    private static CompiledTemplate compile(String source, long lastModified) {
+        List<Segment> segments = new ArrayList<>();
+        int position = 0;
+        while (position < source.length()) {
+            int open = source.indexOf(OPEN, position);
+            int close = open < 0 ? -1 : source.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) {
+                segments.add(new Segment(source.substring(position), false));
+                break;
+            }
+            if (open > position) {
+                segments.add(new Segment(source.substring(position, open), false));
+            }
+            segments.add(new Segment(source.substring(open + OPEN.length(), close), true));
+            position = close + CLOSE.length();
+        }
+        return new CompiledTemplate(List.copyOf(segments), lastModified);
+    }
+
+    private static class CompiledTemplate {
+        private final List<Segment> segments;
+        private final long lastModified;
+
+        private CompiledTemplate(List<Segment> segments, long lastModified) {
+            this.segments = segments;
+            this.lastModified = lastModified;
+        }
+    }
+
+    private static class Segment {
+        private final String text;
+        private final boolean placeholder;
+
+        private Segment(String text, boolean placeholder) {
+            this.text = text;
+            this.placeholder = placeholder;
+        }
+    }
+}
@@ -2,21 +2,32 @@ package com.syberry.bakery.util;
 
 import com.syberry.bakery.entity.User;
 import com.syberry.bakery.security.UserDetailsImpl;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.SignatureException;
 import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.impl.TextCodec;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseCookie;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Component;
 import org.springframework.web.util.WebUtils;
 
+import javax.annotation.PostConstruct;
+import javax.crypto.spec.SecretKeySpec;
 import javax.servlet.http.Cookie;
 import javax.servlet.http.HttpServletRequest;
+import java.security.Key;
 import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @Component
 @Slf4j
@@ -33,16 +44,44 @@ public class JwtUtils {
 
     @Value("${bakery.security.jwtRefreshCookieName}")
     private String jwtRefreshCookie;
+
+    @Value("${bakery.security.jwtSelfContained}")
+    private boolean jwtSelfContained;
+
+    @Value("${bakery.security.verifiedTokenCacheMaxSize}")
+    private long verifiedTokenCacheMaxSize;
+
+    @Value("${bakery.security.verifiedTokenCacheTtlSec}")
+    private long verifiedTokenCacheTtlSec;
+
     private static final String PATH = "/";
+    private static final String USER_ID_CLAIM = "uid";
+    private static final String ROLES_CLAIM = "roles";
+    private static final String SECURITY_VERSION_CLAIM = "sv";
+
+    private Key signingKey;
+    private JwtParser jwtParser;
+    private Cache<String, Claims> verifiedTokens;
+
+    @PostConstruct
+    public void init() {
+        signingKey = new SecretKeySpec(TextCodec.BASE64.decode(jwtSecret), SignatureAlgorithm.HS512.getJcaName());
+        jwtParser = Jwts.parser().setSigningKey(signingKey);
+        verifiedTokens = CacheBuilder.newBuilder()
+                .maximumSize(verifiedTokenCacheMaxSize)
+                .expireAfterWrite(verifiedTokenCacheTtlSec, TimeUnit.SECONDS)
+                .build();
+    }
 
     public ResponseCookie generateJwtCookie(UserDetailsImpl userPrincipal) {
-        String jwt = generateTokenFromUsername(userPrincipal.getUsername());
+        String jwt = jwtSelfContained
+                ? generateSelfContainedToken(userPrincipal)
+                : generateTokenFromUsername(userPrincipal.getUsername());
         return generateCookie(jwtCookie, jwt, PATH);
     }
 
     public ResponseCookie generateJwtCookie(User user) {
-        String jwt = generateTokenFromUsername(user.getEmail());
-        return generateCookie(jwtCookie, jwt, PATH);
+        return generateJwtCookie(UserDetailsImpl.build(user));
     }
 
     public ResponseCookie generateRefreshJwtCookie(String refreshToken) {
@@ -66,19 +105,36 @@ public class JwtUtils {
         return ResponseCookie.from(jwtRefreshCookie, null).path(PATH).build();
     }
 
-    public String getUserNameFromJwtToken(String token) {
-        return Jwts.parser().setSigningKey(jwtSecret).parseClaimsJws(token).getBody().getSubject();
-    }
-
-    public boolean validateJwtToken(String authToken) {
+    /**
+     * Verifies the token and returns its claims, or {@code null} if the token is invalid.
+     * Recently verified tokens are served from memory without repeating the HMAC check.
+     */
+    public Claims parseJwtToken(String authToken) {
+        Claims claims = verifiedTokens.getIfPresent(authToken);
+        if (claims != null && claims.getExpiration().after(new Date())) {
+            return claims;
+        }
         try {
-            Jwts.parser().setSigningKey(jwtSecret).parseClaimsJws(authToken);
-            return true;
+            claims = jwtParser.parseClaimsJws(authToken).getBody();
+            verifiedTokens.put(authToken, claims);
+            return claims;
         } catch (SignatureException | MalformedJwtException | ExpiredJwtException | UnsupportedJwtException | IllegalArgumentException e) {
             log.error("Invalid JWT signature: {}", e.getMessage());
         }
 
-        return false;
+        return null;
+    }
+
+    public UserDetailsImpl getUserDetailsFromClaims(Claims claims) {
+        if (!jwtSelfContained || claims.get(USER_ID_CLAIM) == null) {
+            return null;
+        }
+        @SuppressWarnings("unchecked")
+        List<String> roles = claims.get(ROLES_CLAIM, List.class);
+        return UserDetailsImpl.build(((Number) claims.get(USER_ID_CLAIM)).longValue(),
+                claims.getSubject(),
+                roles,
+                ((Number) claims.get(SECURITY_VERSION_CLAIM)).longValue());
     }
 
     public String generateTokenFromUsername(String username) {
@@ -86,7 +142,22 @@ public class JwtUtils {
                 .setSubject(username)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date((new Date()).getTime() + jwtExpirationMs))
-                .signWith(SignatureAlgorithm.HS512, jwtSecret)
+                .signWith(SignatureAlgorithm.HS512, signingKey)
+                .compact();
+    }
+
+    public String generateSelfContainedToken(UserDetailsImpl userPrincipal) {
+        List<String> roles = userPrincipal.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList();
+        return Jwts.builder()
+                .setSubject(userPrincipal.getUsername())
+                .claim(USER_ID_CLAIM, userPrincipal.getId())
+                .claim(ROLES_CLAIM, roles)
+                .claim(SECURITY_VERSION_CLAIM, userPrincipal.getSecurityVersion())
+                .setIssuedAt(new Date())
+                .setExpiration(new Date((new Date()).getTime() + jwtExpirationMs))
+                .signWith(SignatureAlgorithm.HS512, signingKey)
                 .compact();
     }
 
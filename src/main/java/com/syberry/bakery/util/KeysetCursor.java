@@ -0,0 +1,111 @@
+package com.syberry.bakery.util;
+
+import com.syberry.bakery.dto.SliceDto;
+import com.syberry.bakery.exception.InvalidArgumentTypeException;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Continuation token of the keyset (seek) mode of list endpoints: the sort property and direction of the
+ * listing plus the sort value and id of the last row returned. The next page is read with a predicate on
+ * (sort value, id) instead of an offset, so its cost doesn't depend on how deep the client has paged.
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class KeysetCursor {
+    public static final String ID = "id";
+    private static final String SEPARATOR = "|";
+
+    private final String property;
+    private final Sort.Direction direction;
+    private final Long lastId;
+    private final String lastValue;
+
+    /**
+     * Decodes {@code token}, or starts a new listing ordered by the single property of {@code sort}
+     * (by id when unsorted) when the token is blank.
+     */
+    public static KeysetCursor of(String token, Sort sort) {
+        if (token == null || token.isBlank()) {
+            List<Sort.Order> orders = sort.toList();
+            if (orders.size() > 1) {
+                throw new InvalidArgumentTypeException("Cursor pagination supports a single sort property");
+            }
+            Sort.Order order = orders.isEmpty() ? Sort.Order.asc(ID) : orders.get(0);
+            return new KeysetCursor(order.getProperty(), order.getDirection(), null, null);
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8)
+                    .split("\\" + SEPARATOR, 4);
+            return new KeysetCursor(parts[0], Sort.Direction.fromString(parts[1]), Long.valueOf(parts[2]), parts[3]);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new InvalidArgumentTypeException("Cursor is not valid");
+        }
+    }
+
+    public boolean isFirst() {
+        return lastId == null;
+    }
+
+    public boolean isAscending() {
+        return direction.isAscending();
+    }
+
+    /**
+     * For listings that can only seek by ascending id.
+     */
+    public long requireAscendingId() {
+        if (!ID.equals(property) || !isAscending()) {
+            throw new InvalidArgumentTypeException("Cursor pagination is only sorted by ascending id here");
+        }
+        return isFirst() ? 0L : lastId;
+    }
+
+    public Object lastValue(Class<?> type) {
+        try {
+            if (type == String.class) {
+                return lastValue;
+            } else if (type == Long.class || type == long.class) {
+                return Long.valueOf(lastValue);
+            } else if (type == Integer.class || type == int.class) {
+                return Integer.valueOf(lastValue);
+            } else if (type == Float.class || type == float.class) {
+                return Float.valueOf(lastValue);
+            } else if (type == Double.class || type == double.class) {
+                return Double.valueOf(lastValue);
+            } else if (type == LocalDate.class) {
+                return LocalDate.parse(lastValue);
+            } else if (type == LocalDateTime.class) {
+                return LocalDateTime.parse(lastValue);
+            }
+        } catch (RuntimeException e) {
+            throw new InvalidArgumentTypeException("Cursor is not valid");
+        }
+        throw new InvalidArgumentTypeException("Cursor pagination can't be sorted by " + property);
+    }
+
+    /**
+     * Builds the slice out of {@code rows} read with a limit of {@code size + 1}; the extra row only tells
+     * whether there is a next page.
+     */
+    public <R> SliceDto<R> toSlice(List<R> rows, int size, Function<R, ?> sortKey, Function<R, Long> idKey) {
+        if (rows.size() <= size) {
+            return new SliceDto<>(rows, size, false, null);
+        }
+        List<R> content = rows.subList(0, size);
+        R last = content.get(size - 1);
+        String next = String.join(SEPARATOR, property, direction.name(), String.valueOf(idKey.apply(last)),
+                String.valueOf(sortKey.apply(last)));
+        return new SliceDto<>(content, size, true,
+                Base64.getUrlEncoder().withoutPadding().encodeToString(next.getBytes(StandardCharsets.UTF_8)));
+    }
+}
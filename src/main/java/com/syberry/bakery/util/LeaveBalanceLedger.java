@@ -0,0 +1,150 @@
+package com.syberry.bakery.util;
+
+import com.syberry.bakery.dto.LeaveType;
+import com.syberry.bakery.entity.Contract;
+import com.syberry.bakery.entity.Leave;
+import com.syberry.bakery.entity.LeaveBalance;
+import com.syberry.bakery.entity.LeaveBalanceId;
+import com.syberry.bakery.exception.EntityNotFoundException;
+import com.syberry.bakery.repository.ContractRepository;
+import com.syberry.bakery.repository.EmployeeRepository;
+import com.syberry.bakery.repository.LeaveBalanceRepository;
+import com.syberry.bakery.repository.LeaveRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static java.time.temporal.ChronoUnit.DAYS;
+
+/**
+ * Days of sick and paid leave taken per employee and entitlement year. Entitlement years start on the
+ * anniversary of the active contract, and a leave counts towards the year its last day falls in.
+ * <p>
+ * Rows are adjusted in the transaction that writes the leave, so reading a balance is a primary key lookup.
+ * {@link #rebuild} recomputes an employee's rows from the leaves, for when the contract changes or the
+ * ledger drifted.
+ * <p>
+ * Every write locks the employee row before it reads or touches a balance row, so it is serialized with
+ * rebuilds and with the first insert of a year's row, which no balance row lock could cover yet.
+ */
+@Component
+@RequiredArgsConstructor
+public class LeaveBalanceLedger {
+    public static final Set<LeaveType> COUNTED_TYPES = Set.of(LeaveType.SICK_DAY, LeaveType.PAID_LEAVE);
+
+    private final LeaveBalanceRepository leaveBalanceRepository;
+    private final LeaveRepository leaveRepository;
+    private final ContractRepository contractRepository;
+    private final EmployeeRepository employeeRepository;
+
+    @Value("${bakery.leave.sickDays}")
+    private int sickDays;
+    @Value("${bakery.leave.paidDays}")
+    private int paidDays;
+
+    public LeaveBalance getCurrentBalance(Long employeeId) {
+        LocalDate today = LocalDate.now();
+        LeaveBalanceId id = new LeaveBalanceId(employeeId, yearStart(findContractStart(employeeId)
+                .orElseThrow(() -> new EntityNotFoundException("There is no such contract")), today));
+        return leaveBalanceRepository.findById(id).orElseGet(() -> new LeaveBalance(id, 0, 0));
+    }
+
+    public int getRemainingDays(LeaveBalance balance, LeaveType leaveType) {
+        return entitlement(leaveType) - balance.getUsedDays(leaveType);
+    }
+
+    /**
+     * Counts the leave in its entitlement year. Returns false when that takes the year over the entitlement,
+     * in which case the caller has to fail the transaction.
+     */
+    public boolean add(Leave leave) {
+        if (!COUNTED_TYPES.contains(leave.getLeaveType())) {
+            return true;
+        }
+        lockEmployee(leave.getEmployee().getId());
+        LocalDate contractStart = findContractStart(leave.getEmployee().getId())
+                .orElseThrow(() -> new EntityNotFoundException("There is no such contract"));
+        LeaveBalance balance = lockBalance(leave.getEmployee().getId(), yearStart(contractStart, leave.getLeaveEndDate()));
+        balance.addUsedDays(leave.getLeaveType(), days(leave));
+        leaveBalanceRepository.save(balance);
+        return balance.getUsedDays(leave.getLeaveType()) <= entitlement(leave.getLeaveType());
+    }
+
+    /**
+     * Takes the leave back out of its entitlement year. Without an active contract there is no year to
+     * adjust; the next {@link #rebuild} settles it.
+     */
+    public void remove(Leave leave) {
+        if (!COUNTED_TYPES.contains(leave.getLeaveType())) {
+            return;
+        }
+        lockEmployee(leave.getEmployee().getId());
+        findContractStart(leave.getEmployee().getId()).ifPresent(contractStart -> {
+            LeaveBalance balance = lockBalance(leave.getEmployee().getId(),
+                    yearStart(contractStart, leave.getLeaveEndDate()));
+            balance.addUsedDays(leave.getLeaveType(), -days(leave));
+            leaveBalanceRepository.save(balance);
+        });
+    }
+
+    public void rebuild(Long employeeId) {
+        lockEmployee(employeeId);
+        Map<LocalDate, LeaveBalance> balances = new HashMap<>();
+        findContractStart(employeeId).ifPresent(contractStart -> {
+            for (Leave leave : leaveRepository.findByEmployeeIdAndLeaveTypeIn(employeeId, COUNTED_TYPES)) {
+                LocalDate yearStart = yearStart(contractStart, leave.getLeaveEndDate());
+                balances.computeIfAbsent(yearStart,
+                                year -> new LeaveBalance(new LeaveBalanceId(employeeId, year), 0, 0))
+                        .addUsedDays(leave.getLeaveType(), days(leave));
+            }
+        });
+        for (LeaveBalance stored : leaveBalanceRepository.findByIdEmployeeId(employeeId)) {
+            LeaveBalance computed = balances.remove(stored.getId().getYearStart());
+            if (computed == null) {
+                leaveBalanceRepository.delete(stored);
+            } else {
+                stored.setSickDaysUsed(computed.getSickDaysUsed());
+                stored.setPaidDaysUsed(computed.getPaidDaysUsed());
+            }
+        }
+        leaveBalanceRepository.saveAll(balances.values());
+    }
+
+    /**
+     * Start of the entitlement year containing {@code date}: the last anniversary of the contract start on
+     * or before it. A contract started on 29 February has its anniversary on 28 February in common years.
+     */
+    static LocalDate yearStart(LocalDate contractStart, LocalDate date) {
+        LocalDate anniversary = contractStart.withYear(date.getYear());
+        return anniversary.isAfter(date) ? contractStart.withYear(date.getYear() - 1) : anniversary;
+    }
+
+    private void lockEmployee(Long employeeId) {
+        employeeRepository.lockById(employeeId)
+                .orElseThrow(() -> new EntityNotFoundException("There is no such employee"));
+    }
+
+    private LeaveBalance lockBalance(Long employeeId, LocalDate yearStart) {
+        LeaveBalanceId id = new LeaveBalanceId(employeeId, yearStart);
+        return leaveBalanceRepository.findLockedById(id).orElseGet(() -> new LeaveBalance(id, 0, 0));
+    }
+
+    private Optional<LocalDate> findContractStart(Long employeeId) {
+        return contractRepository.findByEmployeeIdAndContractEndDateGreaterThan(employeeId, LocalDate.now())
+                .map(Contract::getContractStartDate);
+    }
+
+    private int entitlement(LeaveType leaveType) {
+        return leaveType == LeaveType.SICK_DAY ? sickDays : paidDays;
+    }
+
+    private static int days(Leave leave) {
+        return (int) DAYS.between(leave.getLeaveStartDate(), leave.getLeaveEndDate()) + 1;
+    }
+}
@@ -0,0 +1,53 @@
+package com.syberry.bakery.util;
+
+import com.syberry.bakery.exception.EntityNotFoundException;
+import com.syberry.bakery.repository.CompensationRepository;
+import com.syberry.bakery.repository.ContractRepository;
+import com.syberry.bakery.repository.EmployeeRepository;
+import com.syberry.bakery.repository.LeaveRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Tells whether a date range of an employee's leave, contract or compensation overlaps another one of the
+ * same kind, {@code excludedId} being the row that is updated. The employee row is locked first, so
+ * concurrent writes for one employee are checked one after the other until the calling transaction ends.
+ * <p>
+ * Each check is an existence probe on the (employee, start, end) index that stops at the first overlapping
+ * row. It makes no assumption about the stored ranges, which may already overlap each other.
+ */
+@Component
+@RequiredArgsConstructor
+public class OverlapGuard {
+    private static final Pageable FIRST_MATCH = PageRequest.of(0, 1);
+
+    private final EmployeeRepository employeeRepository;
+    private final LeaveRepository leaveRepository;
+    private final ContractRepository contractRepository;
+    private final CompensationRepository compensationRepository;
+
+    public boolean leaveOverlaps(Long employeeId, Long excludedId, LocalDate start, LocalDate end) {
+        lockEmployee(employeeId);
+        return !leaveRepository.findOverlappingIds(employeeId, excludedId, start, end, FIRST_MATCH).isEmpty();
+    }
+
+    public boolean contractOverlaps(Long employeeId, Long excludedId, LocalDate start, LocalDate end) {
+        lockEmployee(employeeId);
+        return !contractRepository.findOverlappingIds(employeeId, excludedId, start, end, FIRST_MATCH).isEmpty();
+    }
+
+    public boolean compensationOverlaps(Long employeeId, Long excludedId, LocalDate start, LocalDate end) {
+        lockEmployee(employeeId);
+        return !compensationRepository.findOverlappingIds(employeeId, excludedId, start, end, FIRST_MATCH)
+                .isEmpty();
+    }
+
+    private void lockEmployee(Long employeeId) {
+        employeeRepository.lockById(employeeId)
+                .orElseThrow(() -> new EntityNotFoundException("There is no such employee"));
+    }
+}
@@ -0,0 +1,113 @@
+-- Schema as Hibernate created it before migrations took over; existing databases are baselined at this version.
+
+create table roles (
+    id bigint not null auto_increment,
+    role_name varchar(20),
+    primary key (id)
+);
+
+create table users (
+    id bigint not null auto_increment,
+    created_at datetime(6) not null,
+    disabled_at datetime(6),
+    email varchar(50) not null,
+    first_name varchar(50) not null,
+    is_2fa_enabled boolean default true not null,
+    is_blocked boolean default true not null,
+    last_name varchar(50) not null,
+    password varchar(255),
+    updated_at datetime(6),
+    primary key (id)
+);
+
+create table user_roles (
+    user_id bigint not null,
+    role_id bigint not null,
+    primary key (user_id, role_id)
+);
+
+create table employee (
+    id bigint not null auto_increment,
+    address_country varchar(255),
+    address_line_1 varchar(100),
+    address_line_2 varchar(100),
+    address_state varchar(2),
+    address_zip varchar(10),
+    citizenship varchar(255),
+    created_at datetime(6) not null,
+    date_of_birth date,
+    date_of_join date,
+    deleted_at datetime(6),
+    gender_id integer,
+    id_number varchar(10),
+    id_type_id integer,
+    marital_status_id integer,
+    number_of_children integer,
+    personal_email varchar(255),
+    phone varchar(255),
+    updated_at datetime(6),
+    user_id bigint,
+    primary key (id)
+);
+
+create table contract (
+    id bigint not null auto_increment,
+    contract_end_date date,
+    contract_start_date date,
+    created_at datetime(6),
+    date_of_signature date,
+    position varchar(255),
+    probation_end_date date,
+    probation_period bit,
+    probation_start_date date,
+    assignment_type varchar(255),
+    updated_at datetime(6),
+    employee_id bigint,
+    primary key (id)
+);
+
+create table leaves (
+    id bigint not null auto_increment,
+    created_at datetime(6),
+    leave_end_date date,
+    leave_reason varchar(255),
+    leave_start_date date,
+    leave_status varchar(255),
+    leave_type varchar(255),
+    updated_at datetime(6),
+    employee_id bigint,
+    primary key (id)
+);
+
+create table compensation (
+    id bigint not null auto_increment,
+    amount float,
+    created_at datetime(6),
+    effective_from date,
+    special_conditions varchar(500),
+    updated_at datetime(6),
+    valid_until date,
+    employee_id bigint,
+    primary key (id)
+);
+
+create table refresh_token (
+    id bigint not null auto_increment,
+    expiry_date datetime(6) not null,
+    token varchar(255) not null,
+    user_id bigint,
+    primary key (id)
+);
+
+alter table roles add constraint UK_716hgxp60ym1lifrdgp67xt5k unique (role_name);
+alter table users add constraint UK_6dotkott2kjsp8vw4d0m25fb7 unique (email);
+alter table refresh_token add constraint UK_r4k4edos30bx9neoq81mdvwph unique (token);
+alter table refresh_token add constraint UK_f95ixxe7pa48ryn1awmh2evt7 unique (user_id);
+
+alter table user_roles add constraint FKh8ciramu9cc9q3qcqiv4ue8a6 foreign key (role_id) references roles (id);
+alter table user_roles add constraint FKhfh9dx7w3ubf1co1vdev94g3f foreign key (user_id) references users (id);
+alter table employee add constraint FKhal2duyxxjtadykhxos7wd3wg foreign key (user_id) references users (id);
+alter table contract add constraint FKr2iw6grixlkbx43q2svdrhbb9 foreign key (employee_id) references employee (id);
+alter table leaves add constraint FKoyaicpcjhq2kad5vgtlexcjjo foreign key (employee_id) references employee (id);
+alter table compensation add constraint FKchrn8veyccgtqrs5ypai7jpiw foreign key (employee_id) references employee (id);
+alter table refresh_token add constraint FKjtx87i0jvq2svedphegvdwcuy foreign key (user_id) references users (id);
@@ -0,0 +1,31 @@
+-- Tables and columns the application gained after the V1 schema, plus the indexes their queries rely on.
+
+-- access tokens carry the user's security version; bumping it revokes every outstanding token
+alter table users add column security_version bigint default 0 not null;
+
+create table token_store (
+    token_key varchar(100) not null,
+    expires_at datetime(6) not null,
+    token_value varchar(255) not null,
+    primary key (token_key)
+);
+
+create table email_outbox (
+    id bigint not null auto_increment,
+    attempts integer not null,
+    created_at datetime(6) not null,
+    last_error varchar(255),
+    msg_body longtext not null,
+    next_attempt_at datetime(6) not null,
+    recipient varchar(255) not null,
+    status varchar(255) not null,
+    subject varchar(255) not null,
+    primary key (id)
+);
+
+create index idx_leave_start_date_id on leaves (leave_start_date, id);
+create index idx_compensation_employee_id_id on compensation (employee_id, id);
+create index idx_compensation_effective_from_id on compensation (effective_from, id);
+create index idx_refresh_token_expiry_date on refresh_token (expiry_date);
+create index idx_token_store_expires_at on token_store (expires_at);
+create index idx_email_outbox_next_attempt on email_outbox (next_attempt_at, status);
@@ -0,0 +1,16 @@
+-- Roles and the initial admin account, formerly data.sql. Guarded so a baselined database that already has them is left alone.
+
+insert into roles (role_name) select 'ROLE_ADMIN' from dual where not exists (select 1 from roles where role_name = 'ROLE_ADMIN');
+insert into roles (role_name) select 'ROLE_HR' from dual where not exists (select 1 from roles where role_name = 'ROLE_HR');
+insert into roles (role_name) select 'ROLE_ACCOUNTANT' from dual where not exists (select 1 from roles where role_name = 'ROLE_ACCOUNTANT');
+insert into roles (role_name) select 'ROLE_USER' from dual where not exists (select 1 from roles where role_name = 'ROLE_USER');
+
+insert into users (created_at, disabled_at, email, first_name, is_blocked, last_name, password, updated_at, is_2fa_enabled)
+select current_timestamp, null, 'admin@mail.com', 'admin', false, 'admin',
+       '$2a$10$tXrlNyDMyREFcGhVgBz1keTK3vuXdp6dJOCjSR2uYYhLD3Nb9qF4y', null, false
+from dual where not exists (select 1 from users where email = 'admin@mail.com');
+
+insert into user_roles (user_id, role_id)
+select u.id, r.id from users u, roles r
+where u.email = 'admin@mail.com' and r.role_name = 'ROLE_ADMIN'
+and not exists (select 1 from user_roles ur where ur.user_id = u.id and ur.role_id = r.id);
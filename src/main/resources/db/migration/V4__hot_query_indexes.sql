@@ -0,0 +1,12 @@
+-- Indexes for the repository queries that filter beyond a primary or foreign key.
+
+-- overlap checks on save/update: employee equality, then the date bounds read from the index
+create index idx_leaves_employee_dates on leaves (employee_id, leave_start_date, leave_end_date);
+create index idx_contract_employee_dates on contract (employee_id, contract_start_date, contract_end_date);
+create index idx_compensation_employee_dates on compensation (employee_id, effective_from, valid_until);
+
+-- leave list filtered by status
+create index idx_leaves_status on leaves (leave_status);
+
+-- login and principal lookups by email among active users, and the active-user listings
+create index idx_users_blocked_email on users (is_blocked, email);
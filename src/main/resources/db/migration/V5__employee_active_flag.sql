@@ -0,0 +1,5 @@
+-- Copy of the owning user's blocked flag, so active-record filters don't have to join users.
+alter table employee add column active boolean default true not null;
+
+update employee set active = false
+where user_id is null or user_id in (select id from users where is_blocked = true);
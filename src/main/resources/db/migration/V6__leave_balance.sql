@@ -0,0 +1,11 @@
+-- Days of counted leave taken per employee and entitlement year, kept in step with every leave write
+-- and rebuilt from the leaves by LeaveBalanceRebuildJob.
+create table leave_balance (
+    employee_id bigint not null,
+    year_start date not null,
+    sick_days_used integer not null,
+    paid_days_used integer not null,
+    primary key (employee_id, year_start)
+);
+
+alter table leave_balance add constraint fk_leave_balance_employee foreign key (employee_id) references employee (id);
@@ -0,0 +1,182 @@
+package benchmark;
+
+import com.syberry.bakery.BakeryApplication;
+import com.syberry.bakery.dto.CompensationFilterDto;
+import com.syberry.bakery.dto.CompensationShortViewDto;
+import com.syberry.bakery.entity.Compensation;
+import com.syberry.bakery.entity.Compensation_;
+import com.syberry.bakery.repository.CompensationRepository;
+import com.syberry.bakery.service.specification.CompensationSpecification;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Page plus count of the compensation listing over 200k rows in H2, built by {@link CompensationSpecification}
+ * and run by {@link CompensationRepository} in a read-only transaction. The catch-all filter carries every
+ * bound the listing used to default (all amounts and dates, the updated-at disjunction); the pruned filter
+ * only the supplied one. Each invocation filters on another employee or week, so H2 can't reuse a result.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class CompensationFilterBenchmark {
+    private static final int EMPLOYEES = 2_000;
+    private static final int COMPENSATIONS = 200_000;
+    private static final long FIRST_EMPLOYEE_ID = 1_000;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2015, 1, 1);
+    private static final int DAYS = 3650;
+    private static final LocalDate DEFAULT_START_DATE = LocalDate.of(2000, 1, 1);
+    private static final LocalDate DEFAULT_END_DATE = LocalDate.of(3000, 1, 1);
+    private static final Pageable PAGE = PageRequest.of(0, 20, Sort.by(Compensation_.ID));
+
+    @Param({"employee", "effectiveFrom"})
+    private String filter;
+
+    private ConfigurableApplicationContext context;
+    private CompensationRepository compensationRepository;
+    private CompensationSpecification compensationSpecification;
+    private TransactionTemplate readOnlyTransaction;
+    private Random random;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(BakeryApplication.class)
+                .run("--server.port=0",
+                        "--logging.level.root=warn",
+                        "--spring.datasource.url=jdbc:h2:mem:compensations;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=sa",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--bakery.mail.username=bakery",
+                        "--bakery.mail.password=bakery",
+                        "--bakery.mail.outbox.pollDelayMs=3600000");
+        compensationRepository = context.getBean(CompensationRepository.class);
+        compensationSpecification = context.getBean(CompensationSpecification.class);
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+        populate(context.getBean(JdbcTemplate.class));
+        random = new Random(7);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public long catchAllPredicates() {
+        return list(true);
+    }
+
+    @Benchmark
+    public long prunedPredicates() {
+        return list(false);
+    }
+
+    private long list(boolean catchAll) {
+        CompensationFilterDto filterDto = new CompensationFilterDto();
+        Long employeeId = null;
+        if (filter.equals("employee")) {
+            employeeId = FIRST_EMPLOYEE_ID + random.nextInt(EMPLOYEES);
+        } else {
+            LocalDate start = FIRST_DAY.plusDays(random.nextInt(DAYS));
+            filterDto.setEffectiveFromStart(start);
+            filterDto.setEffectiveFromEnd(start.plusDays(6));
+        }
+        if (catchAll) {
+            fillDefaults(filterDto);
+        }
+        Specification<Compensation> specification = employeeId == null
+                ? compensationSpecification.buildGetAllSpecification(filterDto)
+                : compensationSpecification.buildGetAllByEmployeeIdSpecification(employeeId, filterDto);
+        Page<CompensationShortViewDto> page = readOnlyTransaction.execute(status ->
+                compensationRepository.findAllShortViews(specification, PAGE));
+        return page.getTotalElements() + page.getNumberOfElements();
+    }
+
+    private static void fillDefaults(CompensationFilterDto filterDto) {
+        filterDto.setAmountStart(0f);
+        filterDto.setAmountEnd(1_000_000_000f);
+        if (filterDto.getEffectiveFromStart() == null) {
+            filterDto.setEffectiveFromStart(DEFAULT_START_DATE);
+            filterDto.setEffectiveFromEnd(DEFAULT_END_DATE);
+        }
+        filterDto.setValidUntilStart(DEFAULT_START_DATE);
+        filterDto.setValidUntilEnd(DEFAULT_END_DATE);
+        filterDto.setUpdatedAtStart(DEFAULT_START_DATE);
+        filterDto.setUpdatedAtEnd(DEFAULT_END_DATE);
+    }
+
+    private static void populate(JdbcTemplate jdbcTemplate) {
+        Timestamp createdAt = Timestamp.valueOf(FIRST_DAY.atStartOfDay());
+        List<Object[]> users = new ArrayList<>();
+        List<Object[]> employees = new ArrayList<>();
+        for (long id = FIRST_EMPLOYEE_ID; id < FIRST_EMPLOYEE_ID + EMPLOYEES; id++) {
+            boolean blocked = id % 50 == 0;
+            users.add(new Object[]{id, createdAt, "user" + id + "@mail.com", "First" + id, "Last" + id, blocked});
+            employees.add(new Object[]{id, createdAt, id, !blocked});
+        }
+        jdbcTemplate.batchUpdate("""
+                insert into users (id, created_at, email, first_name, last_name, is_blocked)
+                values (?, ?, ?, ?, ?, ?)""", users);
+        jdbcTemplate.batchUpdate("insert into employee (id, created_at, user_id, active) values (?, ?, ?, ?)",
+                employees);
+        Random random = new Random(42);
+        List<Object[]> compensations = new ArrayList<>();
+        for (int i = 0; i < COMPENSATIONS; i++) {
+            LocalDate effectiveFrom = FIRST_DAY.plusDays(random.nextInt(DAYS));
+            compensations.add(new Object[]{100 + random.nextInt(5000), Date.valueOf(effectiveFrom),
+                    Date.valueOf(effectiveFrom.plusYears(1)), random.nextInt(4) == 0
+                    ? Timestamp.valueOf(effectiveFrom.plusDays(10).atStartOfDay()) : null,
+                    FIRST_EMPLOYEE_ID + random.nextInt(EMPLOYEES)});
+            if (compensations.size() == 10_000) {
+                insertCompensations(jdbcTemplate, compensations);
+                compensations.clear();
+            }
+        }
+    }
+
+    private static void insertCompensations(JdbcTemplate jdbcTemplate, List<Object[]> compensations) {
+        jdbcTemplate.batchUpdate("""
+                insert into compensation (amount, effective_from, valid_until, updated_at, employee_id)
+                values (?, ?, ?, ?, ?)""", compensations);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(CompensationFilterBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,80 @@
+package benchmark;
+
+import com.syberry.bakery.dto.RoleName;
+import com.syberry.bakery.security.UserDetailsImpl;
+import com.syberry.bakery.util.JwtUtils;
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of authenticating an access token: the former validate-then-parse sequence
+ * against a single verification with the pre-keyed parser, with and without the verified-token cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+    private static final String SECRET = "somecode";
+
+    private JwtUtils cachingJwtUtils;
+    private JwtUtils nonCachingJwtUtils;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cachingJwtUtils = createJwtUtils(10_000);
+        nonCachingJwtUtils = createJwtUtils(0);
+        token = cachingJwtUtils.generateSelfContainedToken(UserDetailsImpl.build(1L, "admin@mail.com",
+                List.of(RoleName.ROLE_ADMIN.name()), 0));
+    }
+
+    @Benchmark
+    public String validateThenParse() {
+        Jwts.parser().setSigningKey(SECRET).parseClaimsJws(token);
+        return Jwts.parser().setSigningKey(SECRET).parseClaimsJws(token).getBody().getSubject();
+    }
+
+    @Benchmark
+    public String singleParse() {
+        return nonCachingJwtUtils.parseJwtToken(token).getSubject();
+    }
+
+    @Benchmark
+    public String cachedParse() {
+        return cachingJwtUtils.parseJwtToken(token).getSubject();
+    }
+
+    private static JwtUtils createJwtUtils(long verifiedTokenCacheMaxSize) {
+        JwtUtils jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 900000);
+        ReflectionTestUtils.setField(jwtUtils, "jwtSelfContained", true);
+        ReflectionTestUtils.setField(jwtUtils, "verifiedTokenCacheMaxSize", verifiedTokenCacheMaxSize);
+        ReflectionTestUtils.setField(jwtUtils, "verifiedTokenCacheTtlSec", 60L);
+        jwtUtils.init();
+        return jwtUtils;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JwtBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,86 @@
+package benchmark;
+
+import com.syberry.bakery.config.PooledJavaMailSender;
+import com.syberry.bakery.config.SmtpStub;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Messages per second sent by four threads (the outbox dispatcher's default concurrency) to an in-process
+ * SMTP server, with a new connection per message against the pooled sender. {@code handshakeDelayMs}
+ * approximates the STARTTLS and AUTH round trips of a remote server.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Threads(4)
+@Fork(1)
+public class MailSenderBenchmark {
+    @Param({"0", "5"})
+    private long handshakeDelayMs;
+
+    private SmtpStub smtpStub;
+    private JavaMailSenderImpl plainSender;
+    private PooledJavaMailSender pooledSender;
+    private SimpleMailMessage message;
+
+    @Setup
+    public void setUp() throws IOException {
+        smtpStub = new SmtpStub(handshakeDelayMs);
+        plainSender = configure(new JavaMailSenderImpl());
+        pooledSender = configure(new PooledJavaMailSender(4, Duration.ofMinutes(1), 100));
+        message = new SimpleMailMessage();
+        message.setFrom("bakery@mail.com");
+        message.setTo("test@mail.com");
+        message.setSubject("2 Factor Authentication");
+        message.setText("Your verification code is 123456");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        pooledSender.destroy();
+        smtpStub.close();
+    }
+
+    @Benchmark
+    public void unpooled() {
+        plainSender.send(message);
+    }
+
+    @Benchmark
+    public void pooled() {
+        pooledSender.send(message);
+    }
+
+    private <T extends JavaMailSenderImpl> T configure(T sender) {
+        sender.setHost("localhost");
+        sender.setPort(smtpStub.getPort());
+        return sender;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(MailSenderBenchmark.class.getSimpleName()).build()).run();
+    }
+}
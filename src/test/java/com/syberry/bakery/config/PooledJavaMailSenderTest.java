@@ -0,0 +1,82 @@
+package com.syberry.bakery.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.SimpleMailMessage;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PooledJavaMailSenderTest {
+    private SmtpStub smtpStub;
+    private PooledJavaMailSender mailSender;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        smtpStub = new SmtpStub(0);
+        mailSender = createMailSender(Duration.ofMinutes(1), 100);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        mailSender.destroy();
+        smtpStub.close();
+    }
+
+    @Test
+    void should_ReuseConnection_When_SendingSeveralMessages() {
+        for (int i = 0; i < 5; i++) {
+            mailSender.send(message());
+        }
+        mailSender.send(message(), message(), message());
+        assertThat(smtpStub.getMessages()).isEqualTo(8);
+        assertThat(smtpStub.getConnections()).isEqualTo(1);
+    }
+
+    @Test
+    void should_OpenNewConnection_When_MessageLimitReached() {
+        mailSender = createMailSender(Duration.ofMinutes(1), 2);
+        for (int i = 0; i < 4; i++) {
+            mailSender.send(message());
+        }
+        assertThat(smtpStub.getConnections()).isEqualTo(2);
+    }
+
+    @Test
+    void should_CloseIdleConnection_When_IdleTimeoutPassed() {
+        mailSender = createMailSender(Duration.ZERO, 100);
+        mailSender.send(message());
+        mailSender.evictIdle();
+        mailSender.send(message());
+        assertThat(smtpStub.getConnections()).isEqualTo(2);
+    }
+
+    @Test
+    void should_Reconnect_When_ServerDroppedConnection() throws IOException {
+        mailSender.send(message());
+        smtpStub.close();
+        smtpStub = new SmtpStub(0);
+        mailSender.setPort(smtpStub.getPort());
+        mailSender.send(message());
+        assertThat(smtpStub.getMessages()).isEqualTo(1);
+    }
+
+    private PooledJavaMailSender createMailSender(Duration idleTimeout, int maxMessagesPerConnection) {
+        PooledJavaMailSender sender = new PooledJavaMailSender(2, idleTimeout, maxMessagesPerConnection);
+        sender.setHost("localhost");
+        sender.setPort(smtpStub.getPort());
+        return sender;
+    }
+
+    private static SimpleMailMessage message() {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom("bakery@mail.com");
+        message.setTo("test@mail.com");
+        message.setSubject("test");
+        message.setText("test");
+        return message;
+    }
+}
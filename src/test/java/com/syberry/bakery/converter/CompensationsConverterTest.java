@@ -1,6 +1,7 @@
 package com.syberry.bakery.converter;
 
 import com.syberry.bakery.dto.CompensationDto;
+import com.syberry.bakery.dto.CompensationNeighbours;
 import com.syberry.bakery.entity.Compensation;
 import com.syberry.bakery.entity.Employee;
 import com.syberry.bakery.entity.User;
@@ -15,6 +16,12 @@ import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 
 import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 @MockitoSettings(strictness = Strictness.LENIENT)
@@ -66,6 +73,17 @@ public class CompensationsConverterTest {
         converter.convertToDto(compensation);
     }
 
+    @Test
+    public void should_FillNeighbourIds_When_ConvertToDto() {
+        CompensationNeighbours neighbours = mock(CompensationNeighbours.class);
+        when(neighbours.getPreviousId()).thenReturn(3L);
+        when(neighbours.getNextId()).thenReturn(null);
+        when(repository.findNeighbourIds(any(), any())).thenReturn(Optional.of(neighbours));
+        CompensationDto dto = converter.convertToDto(compensation);
+        assertThat(dto.getPreviousCompensationId()).isEqualTo(3L);
+        assertThat(dto.getNextCompensationId()).isNull();
+    }
+
     @Test
     public void should_SuccessfullyConvertToShortViewDto() {
         converter.convertToShortViewDto(compensation);
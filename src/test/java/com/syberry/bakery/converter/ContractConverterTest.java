@@ -69,7 +69,7 @@ class ContractConverterTest {
     @Test
     @DisplayName("Should return entity")
     void toEntityWhenEverythingIsOk() {
-        when(employeeRepository.findByIdAndUserIsBlockedFalse(1L)).thenReturn(Optional.of(employee));
+        when(employeeRepository.findByIdAndActiveTrue(1L)).thenReturn(Optional.of(employee));
         Contract contract = ContractConverter.toEntity(dto, employeeRepository);
         assertEquals(dto.getId(), contract.getId());
         assertEquals(dto.getType(), contract.getType());
@@ -86,7 +86,7 @@ class ContractConverterTest {
     @Test
     @DisplayName("Should throw an exception when there is no such employee")
     void toEntityWhenThereIsNoSuchEmployeeThenThrowException() {
-        when(employeeRepository.findByIdAndUserIsBlockedFalse(anyLong())).thenReturn(Optional.empty());
+        when(employeeRepository.findByIdAndActiveTrue(anyLong())).thenReturn(Optional.empty());
         assertThrows(EntityNotFoundException.class, () -> ContractConverter.toEntity(dto, employeeRepository));
     }
 
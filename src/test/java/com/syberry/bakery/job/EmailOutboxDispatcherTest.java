@@ -0,0 +1,116 @@
+package com.syberry.bakery.job;
+
+import com.syberry.bakery.dto.EmailDetails;
+import com.syberry.bakery.dto.OutboxStatus;
+import com.syberry.bakery.entity.EmailOutbox;
+import com.syberry.bakery.repository.EmailOutboxRepository;
+import com.syberry.bakery.service.EmailService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.mail.MailSendException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class EmailOutboxDispatcherTest {
+    @Mock
+    private EmailOutboxRepository emailOutboxRepository;
+    @Mock
+    private EmailService emailService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private EmailOutboxDispatcher dispatcher;
+    private EmailOutbox email;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = new EmailOutboxDispatcher(emailOutboxRepository, emailService, transactionManager,
+                2, 10, 3, 1000, 10000, 60, 5);
+        email = EmailOutbox.builder()
+                .id(1L)
+                .recipient("test@mail.com")
+                .subject("test")
+                .msgBody("test")
+                .nextAttemptAt(Instant.now())
+                .createdAt(Instant.now())
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void should_SendAndDeleteClaimedEmail() {
+        when(emailOutboxRepository.findByNextAttemptAtLessThanEqualAndStatusInOrderByNextAttemptAt(any(), any(), any()))
+                .thenReturn(List.of(email));
+        when(emailOutboxRepository.claim(eq(1L), eq(OutboxStatus.PENDING), any(), any())).thenReturn(1);
+        dispatcher.dispatch();
+        verify(emailService, timeout(1000)).sendEmail(new EmailDetails("test@mail.com", "test", "test"));
+        verify(emailOutboxRepository, timeout(1000)).deleteById(1L);
+    }
+
+    @Test
+    void should_SkipEmail_When_ClaimedByAnotherNode() {
+        when(emailOutboxRepository.findByNextAttemptAtLessThanEqualAndStatusInOrderByNextAttemptAt(any(), any(), any()))
+                .thenReturn(List.of(email));
+        when(emailOutboxRepository.claim(anyLong(), any(), any(), any())).thenReturn(0);
+        dispatcher.dispatch();
+        dispatcher.shutdown();
+        verify(emailService, never()).sendEmail(any());
+    }
+
+    @Test
+    void should_RescheduleWithBackoff_When_SendingFails() {
+        email.setAttempts(1);
+        email.setStatus(OutboxStatus.SENDING);
+        when(emailOutboxRepository.findById(1L)).thenReturn(Optional.of(email));
+        doThrow(new MailSendException("smtp is down")).when(emailService).sendEmail(any());
+        Instant before = Instant.now();
+        dispatcher.deliver(email);
+        assertThat(email.getStatus()).isEqualTo(OutboxStatus.PENDING);
+        assertThat(email.getLastError()).isEqualTo("smtp is down");
+        assertThat(email.getNextAttemptAt()).isAfterOrEqualTo(before.plusSeconds(1));
+        verify(emailOutboxRepository, never()).deleteById(any());
+    }
+
+    @Test
+    void should_GiveUp_When_MaxAttemptsReached() {
+        email.setAttempts(3);
+        email.setStatus(OutboxStatus.SENDING);
+        when(emailOutboxRepository.findById(1L)).thenReturn(Optional.of(email));
+        doThrow(new MailSendException("smtp is down")).when(emailService).sendEmail(any());
+        dispatcher.deliver(email);
+        assertThat(email.getStatus()).isEqualTo(OutboxStatus.FAILED);
+    }
+
+    @Test
+    void should_DoubleBackoffUpToLimit() {
+        assertThat(dispatcher.backoff(1)).isEqualTo(Duration.ofSeconds(1));
+        assertThat(dispatcher.backoff(3)).isEqualTo(Duration.ofSeconds(4));
+        assertThat(dispatcher.backoff(10)).isEqualTo(Duration.ofSeconds(10));
+    }
+}
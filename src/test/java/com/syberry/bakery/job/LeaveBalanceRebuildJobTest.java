@@ -0,0 +1,54 @@
+package com.syberry.bakery.job;
+
+import com.syberry.bakery.repository.LeaveBalanceRepository;
+import com.syberry.bakery.repository.LeaveRepository;
+import com.syberry.bakery.util.LeaveBalanceLedger;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class LeaveBalanceRebuildJobTest {
+    @Mock
+    private LeaveBalanceLedger leaveBalanceLedger;
+    @Mock
+    private LeaveRepository leaveRepository;
+    @Mock
+    private LeaveBalanceRepository leaveBalanceRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private LeaveBalanceRebuildJob rebuildJob;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        rebuildJob = new LeaveBalanceRebuildJob(leaveBalanceLedger, leaveRepository, leaveBalanceRepository,
+                transactionManager, meterRegistry);
+    }
+
+    @Test
+    void should_RebuildEmployeesWithLeavesOrLedgerRows_OncePerEmployee() {
+        when(leaveRepository.findEmployeeIdsByLeaveTypeIn(any())).thenReturn(List.of(1L, 2L));
+        when(leaveBalanceRepository.findEmployeeIds()).thenReturn(List.of(2L, 3L));
+        rebuildJob.rebuildAll();
+        verify(leaveBalanceLedger).rebuild(1L);
+        verify(leaveBalanceLedger).rebuild(2L);
+        verify(leaveBalanceLedger).rebuild(3L);
+        verify(transactionManager, times(3)).commit(any());
+        assertThat(meterRegistry.get("leave_balances.rebuild").timer().count()).isEqualTo(1);
+    }
+}
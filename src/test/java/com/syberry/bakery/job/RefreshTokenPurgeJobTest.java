@@ -0,0 +1,76 @@
+package com.syberry.bakery.job;
+
+import com.syberry.bakery.repository.RefreshTokenRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class RefreshTokenPurgeJobTest {
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RefreshTokenPurgeJob purgeJob;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        purgeJob = new RefreshTokenPurgeJob(refreshTokenRepository, transactionManager, 2, meterRegistry);
+    }
+
+    @Test
+    void should_DeleteInChunks_UntilNoFullChunkIsLeft() {
+        when(refreshTokenRepository.findExpiredIds(any(), any()))
+                .thenReturn(List.of(1L, 2L), List.of(3L, 4L), List.of(5L));
+        when(refreshTokenRepository.deleteExpiredByIdIn(any(), any())).thenReturn(2, 2, 1);
+        purgeJob.purgeExpired();
+        verify(refreshTokenRepository, times(3)).deleteExpiredByIdIn(any(), any());
+        assertThat(meterRegistry.get("refresh_tokens.purged").counter().count()).isEqualTo(5);
+        assertThat(meterRegistry.get("refresh_tokens.purge").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void should_CountOnlyRowsDeletedByThisNode() {
+        when(refreshTokenRepository.findExpiredIds(any(), any())).thenReturn(List.of(1L));
+        when(refreshTokenRepository.deleteExpiredByIdIn(any(), any())).thenReturn(0);
+        purgeJob.purgeExpired();
+        assertThat(meterRegistry.get("refresh_tokens.purged").counter().count()).isZero();
+    }
+
+    @Test
+    void should_DeleteOnlyRowsStillExpiredAtTheSelectionInstant() {
+        when(refreshTokenRepository.findExpiredIds(any(), any())).thenReturn(List.of(1L));
+        purgeJob.purgeExpired();
+        ArgumentCaptor<Instant> selectedAt = ArgumentCaptor.forClass(Instant.class);
+        verify(refreshTokenRepository).findExpiredIds(selectedAt.capture(), any());
+        verify(refreshTokenRepository).deleteExpiredByIdIn(List.of(1L), selectedAt.getValue());
+    }
+
+    @Test
+    void should_NotDelete_When_NothingExpired() {
+        when(refreshTokenRepository.findExpiredIds(any(), any())).thenReturn(List.of());
+        purgeJob.purgeExpired();
+        verify(refreshTokenRepository, never()).deleteExpiredByIdIn(any(), any());
+    }
+}
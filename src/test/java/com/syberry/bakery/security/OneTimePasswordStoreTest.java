@@ -0,0 +1,85 @@
+package com.syberry.bakery.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class OneTimePasswordStoreTest {
+    private SimpleMeterRegistry meterRegistry;
+    private OneTimePasswordStore store;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        store = new OneTimePasswordStore(new InMemoryTokenStore(2, meterRegistry), 5, 2, 3, 60, meterRegistry);
+    }
+
+    @Test
+    void should_ReturnNullWithoutStoring_When_KeyIsUnknown() {
+        assertThat(store.get("unknown@mail.com")).isNull();
+        assertThat(cacheSize()).isZero();
+    }
+
+    @Test
+    void should_ReturnPasswordUntilInvalidated() {
+        store.put("test@mail.com", "123456");
+        assertThat(store.get("test@mail.com")).isEqualTo("123456");
+        store.invalidate("test@mail.com");
+        assertThat(store.get("test@mail.com")).isNull();
+    }
+
+    @Test
+    void should_CountLookupHitsAndMisses() {
+        store.put("test@mail.com", "123456");
+        store.get("test@mail.com");
+        store.get("unknown@mail.com");
+        store.get("unknown@mail.com");
+        assertThat(lookups("hit")).isEqualTo(1);
+        assertThat(lookups("miss")).isEqualTo(2);
+    }
+
+    @Test
+    void should_KeepAtMostMaxSizePasswords() {
+        for (int i = 0; i < 10; i++) {
+            store.put("user" + i + "@mail.com", "123456");
+        }
+        assertThat(cacheSize()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void should_RejectWithTooManyRequests_When_AttemptsExhausted() {
+        store.put("test@mail.com", "123456");
+        for (int i = 0; i < 3; i++) {
+            store.get("test@mail.com");
+        }
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> store.get("test@mail.com"));
+        assertThat(exception.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(store.get("other@mail.com")).isNull();
+    }
+
+    @Test
+    void should_ShareCodes_When_NodesUseTheSameTokenStore() {
+        TokenStore sharedStore = new InMemoryTokenStore(10, meterRegistry);
+        OneTimePasswordStore firstNode = new OneTimePasswordStore(sharedStore, 5, 10, 3, 60, meterRegistry);
+        OneTimePasswordStore secondNode = new OneTimePasswordStore(sharedStore, 5, 10, 3, 60, meterRegistry);
+        firstNode.put("test@mail.com", "123456");
+        assertThat(secondNode.get("test@mail.com")).isEqualTo("123456");
+        secondNode.invalidate("test@mail.com");
+        assertThat(firstNode.get("test@mail.com")).isNull();
+    }
+
+    private double lookups(String result) {
+        return meterRegistry.get("cache.gets").tag("cache", "oneTimePasswords").tag("result", result)
+                .counter().count();
+    }
+
+    private double cacheSize() {
+        return meterRegistry.get("cache.size").tag("cache", "tokenStore").gauge().value();
+    }
+}
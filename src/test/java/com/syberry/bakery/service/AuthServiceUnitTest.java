@@ -1,6 +1,5 @@
 package com.syberry.bakery.service;
 
-import com.google.common.cache.LoadingCache;
 import com.syberry.bakery.converter.UserConverter;
 import com.syberry.bakery.dto.LoginDto;
 import com.syberry.bakery.dto.EmailVerificationDto;
@@ -10,7 +9,6 @@ import com.syberry.bakery.dto.ResetPasswordDto;
 import com.syberry.bakery.dto.RoleName;
 import com.syberry.bakery.dto.UpdatePasswordDto;
 import com.syberry.bakery.dto.UserDto;
-import com.syberry.bakery.entity.RefreshToken;
 import com.syberry.bakery.entity.Role;
 import com.syberry.bakery.entity.User;
 import com.syberry.bakery.exception.EmailException;
@@ -19,6 +17,7 @@ import com.syberry.bakery.exception.InvalidArgumentTypeException;
 import com.syberry.bakery.exception.TokenRefreshException;
 import com.syberry.bakery.exception.UpdateException;
 import com.syberry.bakery.repository.UserRepository;
+import com.syberry.bakery.security.OneTimePasswordStore;
 import com.syberry.bakery.security.UserDetailsImpl;
 import com.syberry.bakery.service.impl.AuthServiceImpl;
 import com.syberry.bakery.util.JwtUtils;
@@ -69,7 +68,7 @@ public class AuthServiceUnitTest {
     @Mock
     private UserService userService;
     @Mock
-    private LoadingCache<String, String> oneTimePasswordCache;
+    private OneTimePasswordStore oneTimePasswordStore;
     @Mock
     private EmailService emailService;
     @Mock
@@ -88,7 +87,7 @@ public class AuthServiceUnitTest {
         user.setEmail("test@mail.com");
         user.setRoles(new HashSet<>(List.of(new Role(1L, RoleName.ROLE_ADMIN))));
         when(authenticationManager.authenticate(any())).thenReturn(null);
-        when(userRepository.findByEmailAndIsBlockedFalse(any())).thenReturn(Optional.of(user));
+        when(userRepository.findWithRolesByEmailAndIsBlockedFalse(any())).thenReturn(Optional.of(user));
         when(emailService.getTemplate(any(), any())).thenReturn("body");
 
         assertThat(authService.login(new LoginRequestDto("test@mail.com", "test")))
@@ -98,7 +97,7 @@ public class AuthServiceUnitTest {
     @Test
     void should_ThrowError_When_SigningInWithNoneExistingEmail() {
         when(authenticationManager.authenticate(any())).thenReturn(null);
-        when(userRepository.findByEmailAndIsBlockedFalse(any())).thenReturn(Optional.empty());
+        when(userRepository.findWithRolesByEmailAndIsBlockedFalse(any())).thenReturn(Optional.empty());
         assertThrows(EntityNotFoundException.class, () -> authService.login(new LoginRequestDto()));
     }
 
@@ -109,7 +108,7 @@ public class AuthServiceUnitTest {
         void mock_for_private_authenticate_method() {
             ResponseCookie jwtCookie = ResponseCookie.from("cookie", "cookie").build();
             when(jwtUtils.generateJwtCookie(any(UserDetailsImpl.class))).thenReturn(jwtCookie);
-            when(refreshTokenService.createRefreshToken(any(Long.class))).thenReturn(new RefreshToken());
+            when(refreshTokenService.createRefreshToken(any(User.class))).thenReturn("refresh-token");
             ResponseCookie refreshJwtCookie = ResponseCookie
                     .from("refresh-token", "refresh-token").build();
             when(jwtUtils.generateRefreshJwtCookie(any())).thenReturn(refreshJwtCookie);
@@ -131,7 +130,7 @@ public class AuthServiceUnitTest {
             user.setEmail("test@mail.com");
             user.setRoles(new HashSet<>(List.of(new Role(1L, RoleName.ROLE_ADMIN))));
             when(authenticationManager.authenticate(any())).thenReturn(authentication);
-            when(userRepository.findByEmailAndIsBlockedFalse(any())).thenReturn(Optional.of(user));
+            when(userRepository.findWithRolesByEmailAndIsBlockedFalse(any())).thenReturn(Optional.of(user));
             when(emailService.getTemplate(any(), any())).thenReturn("body");
             when(authentication.getPrincipal())
                     .thenReturn(new UserDetailsImpl(1L, null, "test@mail.com",  List.of()));
@@ -152,8 +151,8 @@ public class AuthServiceUnitTest {
             User user = new User();
             user.setId(1L);
             user.setEmail("test@mail.com");
-            when(userRepository.findByEmailAndIsBlockedFalse(any())).thenReturn(Optional.of(user));
-            when(oneTimePasswordCache.get(any())).thenReturn("1234");
+            when(userRepository.findWithRolesByEmailAndIsBlockedFalse(any())).thenReturn(Optional.of(user));
+            when(oneTimePasswordStore.get(any())).thenReturn("1234");
             when(userRepository.findByIdAndIsBlockedFalse(any())).thenReturn(Optional.of(user));
             UserDto userDto = new UserDto();
             userDto.setId(1L);
@@ -167,22 +166,22 @@ public class AuthServiceUnitTest {
 
         @Test
         void should_ThrowError_WhenVerifyingNoneExistingEmail() {
-            when(userRepository.findByEmailAndIsBlockedFalse(any())).thenReturn(Optional.empty());
+            when(userRepository.findWithRolesByEmailAndIsBlockedFalse(any())).thenReturn(Optional.empty());
             assertThrows(EntityNotFoundException.class, () -> authService.verifyEmailCode(new EmailVerificationDto()));
         }
 
         @Test
         void should_ThrowError_WhenVerifyingExpiredCode() throws ExecutionException {
-            when(userRepository.findByEmailAndIsBlockedFalse(any())).thenReturn(Optional.of(new User()));
-            when(oneTimePasswordCache.get(any())).thenReturn("");
+            when(userRepository.findWithRolesByEmailAndIsBlockedFalse(any())).thenReturn(Optional.of(new User()));
+            when(oneTimePasswordStore.get(any())).thenReturn("");
             assertThrows(EmailException.class, () -> authService
                     .verifyEmailCode(new EmailVerificationDto("test@mail.com", 1234)));
         }
 
         @Test
         void should_ThrowError_WhenVerifyingInvalidCode() throws ExecutionException {
-            when(userRepository.findByEmailAndIsBlockedFalse(any())).thenReturn(Optional.of(new User()));
-            when(oneTimePasswordCache.get(any())).thenReturn("1234");
+            when(userRepository.findWithRolesByEmailAndIsBlockedFalse(any())).thenReturn(Optional.of(new User()));
+            when(oneTimePasswordStore.get(any())).thenReturn("1234");
             assertThrows(EmailException.class, () -> authService
                     .verifyEmailCode(new EmailVerificationDto("test@mail.com", 11111)));
         }
@@ -235,21 +234,21 @@ public class AuthServiceUnitTest {
     void should_SuccessfullyProcessPasswordResetting() throws ExecutionException {
         String token = "token";
         String email = "test@mail.com";
-        when(oneTimePasswordCache.get(any())).thenReturn(token);
+        when(oneTimePasswordStore.get(any())).thenReturn(token);
         User user = new User();
         user.setId(1L);
         user.setEmail(email);
         user.setPassword("oldPassword");
-        when(userRepository.findByEmailAndIsBlockedFalse(email)).thenReturn(Optional.of(user));
+        when(userRepository.findWithRolesByEmailAndIsBlockedFalse(email)).thenReturn(Optional.of(user));
         when(encoder.encode(any())).thenReturn("newPassword");
         authService.resetPassword(new ResetPasswordDto(email, token, "password"));
-        verify(userRepository, times(1)).findByEmailAndIsBlockedFalse(any());
+        verify(userRepository, times(1)).findWithRolesByEmailAndIsBlockedFalse(any());
         assertThat(user.getPassword()).isEqualTo("newPassword");
     }
 
     @Test
     void should_ThrowError_When_ProcessingPasswordResettingWithExpiredToken() throws ExecutionException {
-        when(oneTimePasswordCache.get(any())).thenReturn("");
+        when(oneTimePasswordStore.get(any())).thenReturn("");
         assertThrows(EmailException.class, () -> authService
                 .resetPassword(new ResetPasswordDto("test@mail.com", "token", "password")));
     }
@@ -3,6 +3,7 @@ package com.syberry.bakery.service;
 import com.syberry.bakery.converter.CompensationConverter;
 import com.syberry.bakery.dto.CompensationDto;
 import com.syberry.bakery.dto.CompensationFilterDto;
+import com.syberry.bakery.dto.CountMode;
 import com.syberry.bakery.dto.RoleName;
 import com.syberry.bakery.entity.Compensation;
 import com.syberry.bakery.entity.Employee;
@@ -15,6 +16,8 @@ import com.syberry.bakery.security.UserDetailsImpl;
 import com.syberry.bakery.service.impl.CompensationServiceImpl;
 import com.syberry.bakery.service.impl.EmployeeServiceImpl;
 import com.syberry.bakery.service.specification.CompensationSpecification;
+import com.syberry.bakery.util.CountCache;
+import com.syberry.bakery.util.OverlapGuard;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -60,6 +63,10 @@ public class CompensationServiceTest {
     @Mock
     CompensationSpecification specification;
     @Mock
+    CountCache countCache;
+    @Mock
+    OverlapGuard overlapGuard;
+    @Mock
     private SecurityContext securityContext;
     @Mock
     private Authentication authentication;
@@ -77,27 +84,27 @@ public class CompensationServiceTest {
 
     @Test
     public void should_SuccessfullyReturnAllCompensations() {
-        CompensationFilterDto filter = new CompensationFilterDto("", 0, 1000,
+        CompensationFilterDto filter = new CompensationFilterDto("", 0f, 1000f,
                 LocalDate.now(), LocalDate.now(), LocalDate.now(), LocalDate.now(), null, LocalDate.now(), LocalDate.now());
-        when(repository.findAll(specification.buildGetAllSpecification(filter), PageRequest.of(0, 20)))
+        when(repository.findAllShortViews(specification.buildGetAllSpecification(filter), PageRequest.of(0, 20)))
                 .thenReturn(new PageImpl<>(List.of()));
-        service.getAllCompensations(filter, PageRequest.of(0, 20));
+        service.getAllCompensations(filter, CountMode.EXACT, PageRequest.of(0, 20));
     }
 
     @Test
     public void should_SuccessfullyReturnEmployeeCompensations() {
-        CompensationFilterDto filter = new CompensationFilterDto("", 0, 1000, LocalDate.now(),
+        CompensationFilterDto filter = new CompensationFilterDto("", 0f, 1000f, LocalDate.now(),
                 LocalDate.now(), LocalDate.now(), LocalDate.now(), null, LocalDate.now(), LocalDate.now());
-        when(repository.findAll(specification.buildGetAllByEmployeeIdSpecification(1L, filter), PageRequest.of(0, 20)))
+        when(repository.findAllShortViews(specification.buildGetAllByEmployeeIdSpecification(1L, filter), PageRequest.of(0, 20)))
                 .thenReturn(new PageImpl<>(List.of()));
-        service.getAllCompensations(filter, PageRequest.of(0, 20));
+        service.getAllCompensations(filter, CountMode.EXACT, PageRequest.of(0, 20));
     }
 
     @Test
     @WithUserDetails("admin@mail.com")
     public void should_SuccessfullyReturnCompensationById() {
         setContext();
-        when(repository.findByIdAndEmployeeUserIsBlockedFalse(any()))
+        when(repository.findByIdAndEmployeeActiveTrue(any()))
                 .thenReturn(Optional.of(new Compensation()));
         CompensationDto dto = new CompensationDto();
         dto.setId(1L);
@@ -109,7 +116,7 @@ public class CompensationServiceTest {
     @Test
     public void should_ThrowError_WhenGettingByIdNoneExistingCompensation() {
         try {
-            when(repository.findByIdAndEmployeeUserIsBlockedFalse(any())).thenReturn(Optional.empty());
+            when(repository.findByIdAndEmployeeActiveTrue(any())).thenReturn(Optional.empty());
             service.getCompensationById(1L);
         } catch (EntityNotFoundException ex) {
         }
@@ -141,7 +148,7 @@ public class CompensationServiceTest {
             dto.setEmployeeId(1L);
             dto.setEffectiveFrom(LocalDate.of(2000, 1, 2));
             dto.setValidUntil(LocalDate.of(2000, 1, 1));
-            when(employeeRepository.findByIdAndUserIsBlockedFalse(any())).thenReturn(Optional.of(new Employee()));
+            when(employeeRepository.findByIdAndActiveTrue(any())).thenReturn(Optional.of(new Employee()));
             when(converter.convertToEntity(any(CompensationDto.class))).thenReturn(new Compensation());
             when(repository.save(any())).thenReturn(new Compensation());
             when(converter.convertToDto(any())).thenReturn(new CompensationDto());
@@ -161,7 +168,7 @@ public class CompensationServiceTest {
         CompensationDto dto = new CompensationDto();
         dto.setEffectiveFrom(LocalDate.of(2000, 1, 1));
         dto.setValidUntil(LocalDate.of(2000, 1, 2));
-        when(repository.findByIdAndEmployeeUserIsBlockedFalse(any())).thenReturn(Optional.of(compensation));
+        when(repository.findByIdAndEmployeeActiveTrue(any())).thenReturn(Optional.of(compensation));
         when(converter.convertToEntity(any(), any())).thenReturn(new Compensation());
         when(converter.convertToDto(any())).thenReturn(new CompensationDto());
         service.updateCompensationById(dto);
@@ -173,7 +180,7 @@ public class CompensationServiceTest {
             CompensationDto dto = new CompensationDto();
             dto.setEffectiveFrom(LocalDate.of(2000, 1, 1));
             dto.setValidUntil(LocalDate.of(2000, 1, 2));
-            when(repository.findByIdAndEmployeeUserIsBlockedFalse(any())).thenReturn(Optional.empty());
+            when(repository.findByIdAndEmployeeActiveTrue(any())).thenReturn(Optional.empty());
             service.updateCompensationById(dto);
         } catch (EntityNotFoundException ex) {
         }
@@ -187,14 +194,14 @@ public class CompensationServiceTest {
         employee.setUser(user);
         Compensation compensation = new Compensation();
         compensation.setEmployee(employee);
-        when(repository.findByIdAndEmployeeUserIsBlockedFalse(any())).thenReturn(Optional.of(compensation));
+        when(repository.findByIdAndEmployeeActiveTrue(any())).thenReturn(Optional.of(compensation));
         service.deleteCompensationById(any());
     }
 
     @Test
     public void should_ThrowError_When_DeletingNoneExistingCompensation() {
         try {
-            when(repository.findByIdAndEmployeeUserIsBlockedFalse(any())).thenReturn(Optional.empty());
+            when(repository.findByIdAndEmployeeActiveTrue(any())).thenReturn(Optional.empty());
             service.deleteCompensationById(any());
         } catch (EntityNotFoundException ex) {
         }
@@ -1,5 +1,6 @@
 package com.syberry.bakery.service;
 
+import com.syberry.bakery.converter.ContractConverter;
 import com.syberry.bakery.dto.AssignmentType;
 import com.syberry.bakery.dto.ContractFullDto;
 import com.syberry.bakery.dto.ContractSaveDto;
@@ -17,6 +18,8 @@ import com.syberry.bakery.repository.ContractRepository;
 import com.syberry.bakery.repository.EmployeeRepository;
 import com.syberry.bakery.security.UserDetailsImpl;
 import com.syberry.bakery.service.impl.ContractServiceImpl;
+import com.syberry.bakery.util.LeaveBalanceLedger;
+import com.syberry.bakery.util.OverlapGuard;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -52,6 +55,10 @@ class ContractServiceUnitTest {
     @Mock
     private EmployeeRepository employeeRepository;
     @Mock
+    private LeaveBalanceLedger leaveBalanceLedger;
+    @Mock
+    private OverlapGuard overlapGuard;
+    @Mock
     private Authentication authentication;
     @Mock
     private SecurityContext securityContext;
@@ -96,9 +103,9 @@ class ContractServiceUnitTest {
     @DisplayName("Should return all contracts when the firstname and lastname are not empty")
     void getAllContractsWhenFirstNameAndLastNameAreNotEmpty() {
         employee.setUser(user);
-        Page<Contract> page = new PageImpl<>(List.of(contract));
+        Page<ContractShortDto> page = new PageImpl<>(List.of(ContractConverter.toShortInfoDto(contract)));
         when(contractRepository
-                .findByEmployeeIsBlockedFalseAndFilterIn(
+                .findByEmployeeActiveTrueAndFilterIn(
                         any(), any()))
                 .thenReturn(page);
         Page<ContractShortDto> result =
@@ -109,7 +116,7 @@ class ContractServiceUnitTest {
     @Test
     @DisplayName("Should throw an exception when the contract does not exist")
     void getByContractIdWhenContractDoesNotExistThenThrowException() {
-        when(contractRepository.findByIdAndEmployeeUserIsBlockedFalse(2L))
+        when(contractRepository.findByIdAndEmployeeActiveTrue(2L))
                 .thenReturn(Optional.empty());
         assertThrows(EntityNotFoundException.class, () -> contractService.getByContractId(2L));
     }
@@ -117,7 +124,7 @@ class ContractServiceUnitTest {
     @Test
     @DisplayName("Should return contract when the contract exists")
     void getByContractIdWhenContractExistsThenReturnContract() {
-        when(contractRepository.findByIdAndEmployeeUserIsBlockedFalse(1L))
+        when(contractRepository.findByIdAndEmployeeActiveTrue(1L))
                 .thenReturn(Optional.of(contract));
         setContext();
         ContractFullDto contractFullDto = contractService.getByContractId(1L);
@@ -135,15 +142,15 @@ class ContractServiceUnitTest {
     void getAllOwnedContractsShouldReturnAllOwnedContracts() {
         employee.setUser(user);
         setContext();
-        when(contractRepository.findByEmployeeUserEmailAndEmployeeUserIsBlockedFalse(anyString()))
-                .thenReturn(List.of(contract));
+        when(contractRepository.findShortByEmployeeUserEmailAndEmployeeActiveTrue(anyString()))
+                .thenReturn(List.of(ContractConverter.toShortInfoDto(contract)));
         assertEquals(1, contractService.getAllOwnedContracts().size());
     }
 
     @Test
     @DisplayName("Should return empty list when the employee does not exist")
     void getByEmployeeIdWhenEmployeeDoesNotExistThenReturnEmptyList() {
-        when(contractRepository.findByEmployeeIdAndEmployeeUserIsBlockedFalse(1L)).thenReturn(List.of());
+        when(contractRepository.findShortByEmployeeIdAndEmployeeActiveTrue(1L)).thenReturn(List.of());
         List<ContractShortDto> dtos = contractService.getByEmployeeId(1L);
         assertEquals(0, dtos.size());
     }
@@ -153,18 +160,18 @@ class ContractServiceUnitTest {
     void getByEmployeeIdWhenEmployeeExistsThenReturnListOfContracts() {
         user.setId(1L);
         employee.setUser(user);
-        when(contractRepository.findByEmployeeIdAndEmployeeUserIsBlockedFalse(anyLong()))
-                .thenReturn(List.of(contract));
+        when(contractRepository.findShortByEmployeeIdAndEmployeeActiveTrue(anyLong()))
+                .thenReturn(List.of(ContractConverter.toShortInfoDto(contract)));
         List<ContractShortDto> result = contractService.getByEmployeeId(1L);
 
         assertEquals(1, result.size());
-        verify(contractRepository, times(1)).findByEmployeeIdAndEmployeeUserIsBlockedFalse(anyLong());
+        verify(contractRepository, times(1)).findShortByEmployeeIdAndEmployeeActiveTrue(anyLong());
     }
 
     @Test
     @DisplayName("Should throw an exception when the employee is blocked")
     void saveContractWhenEmployeeIsBlockedThenThrowException() {
-        when(employeeRepository.findByIdAndUserIsBlockedFalse(anyLong()))
+        when(employeeRepository.findByIdAndActiveTrue(anyLong()))
                 .thenReturn(Optional.empty());
         assertThrows(EntityNotFoundException.class, () -> contractService.saveContract(saveDto));
     }
@@ -173,9 +180,9 @@ class ContractServiceUnitTest {
     @DisplayName("Should save the contract when the employee is not blocked")
     void saveContractWhenEmployeeIsNotBlocked() {
         employee.setUser(user);
-        when(employeeRepository.findByIdAndUserIsBlockedFalse(anyLong()))
+        when(employeeRepository.findByIdAndActiveTrue(anyLong()))
                 .thenReturn(Optional.of(employee));
-        when(contractRepository.findByEmployeeIdAndEmployeeUserIsBlockedFalse(anyLong()))
+        when(contractRepository.findByEmployeeIdAndEmployeeActiveTrue(anyLong()))
                 .thenReturn(List.of());
         when(contractRepository.save(any())).thenReturn(contract);
         setContext();
@@ -193,7 +200,7 @@ class ContractServiceUnitTest {
     @Test
     @DisplayName("Should throw an exception when the contract is not found")
     void updateContractWhenContractIsNotFoundThenThrowException() {
-        when(contractRepository.findByIdAndEmployeeUserIsBlockedFalse(1L))
+        when(contractRepository.findByIdAndEmployeeActiveTrue(1L))
                 .thenReturn(Optional.empty());
         assertThrows(EntityNotFoundException.class, () -> contractService.updateContract(saveDto));
     }
@@ -201,16 +208,16 @@ class ContractServiceUnitTest {
     @Test
     @DisplayName("Should throw an exception when the employee is not found")
     void updateContractWhenEmployeeIsNotFoundThenThrowException() {
-        when(contractRepository.findByIdAndEmployeeUserIsBlockedFalse(1L)).thenReturn(Optional.of(contract));
+        when(contractRepository.findByIdAndEmployeeActiveTrue(1L)).thenReturn(Optional.of(contract));
         assertThrows(UpdateException.class, () -> contractService.updateContract(saveDto));
 
-        verify(contractRepository, times(1)).findByIdAndEmployeeUserIsBlockedFalse(1L);
+        verify(contractRepository, times(1)).findByIdAndEmployeeActiveTrue(1L);
     }
 
     @Test
     @DisplayName("Should throw an exception when the contract does not exist")
     void deleteContractWhenContractDoesNotExistThenThrowException() {
-        when(contractRepository.findByIdAndEmployeeUserIsBlockedFalse(1L))
+        when(contractRepository.findByIdAndEmployeeActiveTrue(1L))
                 .thenReturn(Optional.empty());
         assertThrows(DeleteException.class, () -> contractService.deleteContract(1L));
     }
@@ -219,10 +226,11 @@ class ContractServiceUnitTest {
     @DisplayName("Should delete the contract when the contract exists")
     void deleteContractWhenContractExists() {
         employee.setUser(user);
-        when(contractRepository.findByIdAndEmployeeUserIsBlockedFalse(1L)).thenReturn(Optional.of(contract));
+        when(contractRepository.findByIdAndEmployeeActiveTrue(1L)).thenReturn(Optional.of(contract));
         setContext();
         contractService.deleteContract(1L);
         verify(contractRepository, times(1)).deleteById(1L);
+        verify(leaveBalanceLedger).rebuild(contract.getEmployee().getId());
     }
 
     private void setContext() {
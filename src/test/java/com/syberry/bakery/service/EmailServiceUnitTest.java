@@ -1,11 +1,17 @@
 package com.syberry.bakery.service;
 
 import com.syberry.bakery.dto.EmailDetails;
+import com.syberry.bakery.dto.OutboxStatus;
+import com.syberry.bakery.entity.EmailOutbox;
+import com.syberry.bakery.repository.EmailOutboxRepository;
 import com.syberry.bakery.service.impl.EmailServiceImpl;
+import com.syberry.bakery.util.EmailTemplateEngine;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
@@ -13,9 +19,12 @@ import org.springframework.mail.javamail.JavaMailSender;
 
 import javax.mail.Session;
 import javax.mail.internet.MimeMessage;
+import java.util.Map;
 import java.util.Properties;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -27,6 +36,10 @@ public class EmailServiceUnitTest {
     private EmailServiceImpl mailService;
     @Mock
     private JavaMailSender mailSender;
+    @Mock
+    private EmailOutboxRepository emailOutboxRepository;
+    @Spy
+    private EmailTemplateEngine templateEngine = new EmailTemplateEngine(false);
 
     @Test
     void should_SuccessfullySendMail() {
@@ -34,4 +47,29 @@ public class EmailServiceUnitTest {
         mailService.sendEmail(new EmailDetails("test@mail.com", "test", "test"));
         verify(mailSender, times(1)).send(any(MimeMessage.class));
     }
+
+    @Test
+    void should_EnqueueVerificationCode_InsteadOfSendingIt() {
+        mailService.sendEmailVerificationCode("123456", "test@mail.com");
+        ArgumentCaptor<EmailOutbox> captor = ArgumentCaptor.forClass(EmailOutbox.class);
+        verify(emailOutboxRepository, times(1)).save(captor.capture());
+        verify(mailSender, never()).send(any(MimeMessage.class));
+        assertThat(captor.getValue().getRecipient()).isEqualTo("test@mail.com");
+        assertThat(captor.getValue().getStatus()).isEqualTo(OutboxStatus.PENDING);
+        assertThat(captor.getValue().getMsgBody()).contains("123456");
+    }
+
+    @Test
+    void should_RenderTemplate_When_PlaceholdersRepeatOrAreMissing() {
+        String result = mailService.getTemplate("<p>{{code}}</p>{{code}}{{name}}{{", Map.of("code", "42"));
+        assertThat(result).isEqualTo("<p>42</p>42{{name}}{{");
+    }
+
+    @Test
+    void should_RenderResetPasswordEmail_When_CalledRepeatedly() {
+        String first = templateEngine.render("reset-password-email.html", Map.of("token", "FIRST"));
+        String second = templateEngine.render("reset-password-email.html", Map.of("token", "SECOND"));
+        assertThat(first).contains("FIRST").doesNotContain("{{token}}");
+        assertThat(second).contains("SECOND").doesNotContain("FIRST");
+    }
 }
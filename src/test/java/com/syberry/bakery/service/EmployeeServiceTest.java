@@ -8,6 +8,7 @@ import com.syberry.bakery.entity.User;
 import com.syberry.bakery.exception.EntityNotFoundException;
 import com.syberry.bakery.repository.EmployeeRepository;
 import com.syberry.bakery.repository.UserRepository;
+import com.syberry.bakery.security.SecurityVersionRegistry;
 import com.syberry.bakery.security.UserDetailsImpl;
 import com.syberry.bakery.service.impl.EmployeeServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
@@ -32,6 +33,7 @@ import java.util.Set;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -47,6 +49,8 @@ public class EmployeeServiceTest {
     @Mock
     UserRepository userRepository;
     @Mock
+    SecurityVersionRegistry securityVersionRegistry;
+    @Mock
     private SecurityContext securityContext;
     @Mock
     private Authentication authentication;
@@ -64,14 +68,21 @@ public class EmployeeServiceTest {
 
     @Test
     public void should_SuccessfullyReturnAllEmployee() {
-        when(employeeRepository.findByUserIsBlockedFalseAndFilterIn(any(), any())).thenReturn(new PageImpl<>(List.of()));
+        when(employeeRepository.findByActiveTrueAndFilterIn(any(), any())).thenReturn(new PageImpl<>(List.of()));
         employeeService.getAllEmployees(PageRequest.of(0, 20), "");
     }
 
+    @Test
+    public void should_FilterEmployeesByNameInQuery() {
+        when(employeeRepository.findByActiveTrueAndFilterIn(any(), any())).thenReturn(new PageImpl<>(List.of()));
+        employeeService.getAllEmployees(PageRequest.of(0, 20), "smith");
+        verify(employeeRepository).findByActiveTrueAndFilterIn("smith", PageRequest.of(0, 20));
+    }
+
     @Test
     public void should_SuccessfullyReturnEmployeeById() {
         setContext();
-        when(employeeRepository.findByIdAndUserIsBlockedFalse(any())).thenReturn(Optional.of(new Employee()));
+        when(employeeRepository.findByIdAndActiveTrue(any())).thenReturn(Optional.of(new Employee()));
         EmployeeDto employeeDto = new EmployeeDto();
         employeeDto.setId(1L);
         when(employeeConverter.convertToEmployeeDto(any(Employee.class))).thenReturn(employeeDto);
@@ -82,7 +93,7 @@ public class EmployeeServiceTest {
     @Test
     public void should_ThrowError_WhenGettingByIdNoneExistingEmployee() {
         try {
-            when(employeeRepository.findByIdAndUserIsBlockedFalse(any())).thenReturn(Optional.empty());
+            when(employeeRepository.findByIdAndActiveTrue(any())).thenReturn(Optional.empty());
             employeeService.getEmployeeById(1L);
         } catch (EntityNotFoundException ex) {
         }
@@ -105,7 +116,7 @@ public class EmployeeServiceTest {
         user.setEmail("eee@gmail.com");
         Employee employee = new Employee();
         employee.setUser(user);
-        when(employeeRepository.findByIdAndUserIsBlockedFalse(any())).thenReturn(Optional.of(employee));
+        when(employeeRepository.findByIdAndActiveTrue(any())).thenReturn(Optional.of(employee));
         when(employeeConverter.convertToEntity(any(), any())).thenReturn(new Employee());
         when(employeeConverter.convertToEmployeeDto(any())).thenReturn(new EmployeeDto());
         employeeService.updateEmployeeById(new EmployeeDto());
@@ -114,7 +125,7 @@ public class EmployeeServiceTest {
     @Test
     public void should_ThrowError_When_UpdatingNoneExistingEmployee() {
         try {
-            when(employeeRepository.findByIdAndUserIsBlockedFalse(any())).thenReturn(Optional.empty());
+            when(employeeRepository.findByIdAndActiveTrue(any())).thenReturn(Optional.empty());
             employeeService.updateEmployeeById(new EmployeeDto());
         } catch (EntityNotFoundException ex) {
         }
@@ -126,14 +137,16 @@ public class EmployeeServiceTest {
         User user = new User();
         user.setEmail("eee@gmail.com");
         employee.setUser(user);
-        when(employeeRepository.findByIdAndUserIsBlockedFalse(any())).thenReturn(Optional.of(employee));
+        when(employeeRepository.findByIdAndActiveTrue(any())).thenReturn(Optional.of(employee));
+        assertThat(employee.isActive()).isTrue();
         employeeService.disableEmployeeById(any());
+        assertThat(employee.isActive()).isFalse();
     }
 
     @Test
     public void should_ThrowError_When_DisablingNoneExistingEmployee() {
         try {
-            when(employeeRepository.findByIdAndUserIsBlockedFalse(any())).thenReturn(Optional.empty());
+            when(employeeRepository.findByIdAndActiveTrue(any())).thenReturn(Optional.empty());
             employeeService.disableEmployeeById(any());
         } catch (EntityNotFoundException ex) {
         }
@@ -1,5 +1,7 @@
 package com.syberry.bakery.service;
 
+import com.syberry.bakery.converter.LeaveConverter;
+import com.syberry.bakery.dto.CountMode;
 import com.syberry.bakery.dto.LeaveFullDto;
 import com.syberry.bakery.dto.LeaveSaveDto;
 import com.syberry.bakery.dto.LeaveShortDto;
@@ -8,6 +10,7 @@ import com.syberry.bakery.dto.LeaveType;
 import com.syberry.bakery.dto.RoleName;
 import com.syberry.bakery.entity.Employee;
 import com.syberry.bakery.entity.Leave;
+import com.syberry.bakery.entity.LeaveBalance;
 import com.syberry.bakery.entity.Role;
 import com.syberry.bakery.entity.User;
 import com.syberry.bakery.exception.CreateException;
@@ -17,7 +20,9 @@ import com.syberry.bakery.repository.EmployeeRepository;
 import com.syberry.bakery.repository.LeaveRepository;
 import com.syberry.bakery.security.UserDetailsImpl;
 import com.syberry.bakery.service.impl.LeaveServiceImpl;
-import com.syberry.bakery.util.LeaveUtil;
+import com.syberry.bakery.util.CountCache;
+import com.syberry.bakery.util.LeaveBalanceLedger;
+import com.syberry.bakery.util.OverlapGuard;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -29,6 +34,8 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -44,9 +51,11 @@ import java.util.Set;
 import static java.time.temporal.ChronoUnit.DAYS;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -58,7 +67,11 @@ class LeaveServiceUnitTest {
     @Mock
     private EmployeeRepository employeeRepository;
     @Mock
-    private LeaveUtil leaveUtil;
+    private LeaveBalanceLedger leaveBalanceLedger;
+    @Mock
+    private CountCache countCache;
+    @Mock
+    private OverlapGuard overlapGuard;
     @Mock
     private SecurityContext securityContext;
     @Mock
@@ -100,10 +113,9 @@ class LeaveServiceUnitTest {
     void getAllWhenNameIsNullLeaveTypeIsNullAndLeaveStatusIsNull() {
         employee.setUser(user);
         Pageable pageable = PageRequest.of(0, 10);
-        List<Leave> leaves = Collections.singletonList(leave);
-        Page<Leave> page = new PageImpl<>(leaves);
-        when(leaveRepository.findAll(any(Specification.class), eq(pageable))).thenReturn(page);
-        Page<LeaveShortDto> result = leaveService.getAll(pageable, null, null, null);
+        Page<LeaveShortDto> page = new PageImpl<>(List.of(LeaveConverter.toShortDto(leave)));
+        when(leaveRepository.findAllShort(any(Specification.class), eq(pageable))).thenReturn(page);
+        Page<LeaveShortDto> result = (Page<LeaveShortDto>) leaveService.getAll(pageable, CountMode.EXACT, null, null, null);
         assertEquals(1, result.getTotalElements());
     }
 
@@ -113,10 +125,9 @@ class LeaveServiceUnitTest {
     void getAllWhenNameIsNotNullLeaveTypeIsNullAndLeaveStatusIsNull() {
         employee.setUser(user);
         Pageable pageable = PageRequest.of(0, 10);
-        List<Leave> leaves = Collections.singletonList(leave);
-        Page<Leave> page = new PageImpl<>(leaves);
-        when(leaveRepository.findAll(any(Specification.class), eq(pageable))).thenReturn(page);
-        Page<LeaveShortDto> result = leaveService.getAll(pageable, "name", null, null);
+        Page<LeaveShortDto> page = new PageImpl<>(List.of(LeaveConverter.toShortDto(leave)));
+        when(leaveRepository.findAllShort(any(Specification.class), eq(pageable))).thenReturn(page);
+        Page<LeaveShortDto> result = (Page<LeaveShortDto>) leaveService.getAll(pageable, CountMode.EXACT, "name", null, null);
         assertEquals(1, result.getTotalElements());
     }
 
@@ -126,11 +137,10 @@ class LeaveServiceUnitTest {
     void getAllWhenNameIsNotNullLeaveTypeIsNotNullAndLeaveStatusIsNull() {
         employee.setUser(user);
         Pageable pageable = PageRequest.of(0, 10);
-        List<Leave> leaves = Collections.singletonList(leave);
-        Page<Leave> page = new PageImpl<>(leaves);
-        when(leaveRepository.findAll(any(Specification.class), eq(pageable))).thenReturn(page);
-        Page<LeaveShortDto> result = leaveService
-                .getAll(pageable, "John", Collections.singletonList(LeaveType.SICK_DAY), null);
+        Page<LeaveShortDto> page = new PageImpl<>(List.of(LeaveConverter.toShortDto(leave)));
+        when(leaveRepository.findAllShort(any(Specification.class), eq(pageable))).thenReturn(page);
+        Page<LeaveShortDto> result = (Page<LeaveShortDto>) leaveService
+                .getAll(pageable, CountMode.EXACT, "John", Collections.singletonList(LeaveType.SICK_DAY), null);
         assertEquals(1, result.getTotalElements());
     }
 
@@ -140,22 +150,50 @@ class LeaveServiceUnitTest {
     void getAllWhenNameIsNotNullLeaveTypeIsNotNullAndLeaveStatusIsNotNull() {
         employee.setUser(user);
         Pageable pageable = PageRequest.of(0, 10);
-        List<Leave> leaves = Collections.singletonList(leave);
-        Page<Leave> page = new PageImpl<>(leaves);
-        when(leaveRepository.findAll(any(Specification.class), eq(pageable))).thenReturn(page);
-        Page<LeaveShortDto> result = leaveService.getAll(
-                pageable, "John", Collections.singletonList(LeaveType.SICK_DAY),
+        Page<LeaveShortDto> page = new PageImpl<>(List.of(LeaveConverter.toShortDto(leave)));
+        when(leaveRepository.findAllShort(any(Specification.class), eq(pageable))).thenReturn(page);
+        Page<LeaveShortDto> result = (Page<LeaveShortDto>) leaveService.getAll(
+                pageable, CountMode.EXACT, "John", Collections.singletonList(LeaveType.SICK_DAY),
                 Collections.singletonList(LeaveStatus.APPROVED));
         assertEquals(1, result.getTotalElements());
     }
 
+    @Test
+    @DisplayName("Should read a slice without counting when no total is requested")
+    void getAllWithoutCountThenReadSlice() {
+        employee.setUser(user);
+        Pageable pageable = PageRequest.of(0, 10);
+        when(leaveRepository.findAllShortAsSlice(any(Specification.class), eq(pageable)))
+                .thenReturn(new SliceImpl<>(List.of(LeaveConverter.toShortDto(leave)), pageable, true));
+        Slice<LeaveShortDto> result = leaveService.getAll(pageable, CountMode.NONE, "", null, null);
+
+        assertTrue(result.hasNext());
+        verify(leaveRepository, never()).count(any(Specification.class));
+        verify(leaveRepository, never()).findAllShort(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should take the total from the count cache when an approximate total is requested")
+    void getAllWithApproximateCountThenUseCountCache() {
+        employee.setUser(user);
+        Pageable pageable = PageRequest.of(0, 1);
+        when(leaveRepository.findAllShortAsSlice(any(Specification.class), eq(pageable)))
+                .thenReturn(new SliceImpl<>(List.of(LeaveConverter.toShortDto(leave)), pageable, true));
+        when(countCache.get(any(), any(), any())).thenReturn(42L);
+        Page<LeaveShortDto> result = (Page<LeaveShortDto>) leaveService.getAll(pageable, CountMode.APPROXIMATE, "",
+                null, null);
+
+        assertEquals(42, result.getTotalElements());
+        verify(leaveRepository, never()).count(any(Specification.class));
+    }
+
     @Test
     @DisplayName("Should return all leaves of the employee when the employee exists")
     void getByEmployeeIdWhenEmployeeExistsThenReturnAllLeavesOfTheEmployee() {
         employee.setId(1L);
         employee.setUser(user);
-        when(leaveRepository.findByEmployeeIdAndEmployeeUserIsBlockedFalse(any()))
-                .thenReturn(List.of(leave));
+        when(leaveRepository.findShortByEmployeeIdAndEmployeeActiveTrue(any()))
+                .thenReturn(List.of(LeaveConverter.toShortDto(leave)));
         assertEquals(1, leaveService.getByEmployeeId(1L).size());
     }
 
@@ -164,15 +202,15 @@ class LeaveServiceUnitTest {
     void getAllOwnedContractsShouldReturnAllOwnedContracts() {
         employee.setUser(user);
         setContext();
-        when(leaveRepository.findByEmployeeUserEmailAndEmployeeUserIsBlockedFalse(anyString()))
-                .thenReturn(List.of(leave));
+        when(leaveRepository.findShortByEmployeeUserEmailAndEmployeeActiveTrue(anyString()))
+                .thenReturn(List.of(LeaveConverter.toShortDto(leave)));
         assertEquals(1, leaveService.getAllOwnedContracts().size());
     }
 
     @Test
     @DisplayName("Should throw an exception when the leave does not exist")
     void getByIdWhenLeaveDoesNotExistThenThrowException() {
-        when(leaveRepository.findByIdAndEmployeeUserIsBlockedFalse(any()))
+        when(leaveRepository.findByIdAndEmployeeActiveTrue(any()))
                 .thenReturn(Optional.empty());
         assertThrows(EntityNotFoundException.class, () -> leaveService.getById(1L));
     }
@@ -180,10 +218,12 @@ class LeaveServiceUnitTest {
     @Test
     @DisplayName("Should return leave when the leave exists")
     void getByIdWhenLeaveExistsThenReturnLeave() {
-        when(leaveRepository.findByIdAndEmployeeUserIsBlockedFalse(any()))
+        when(leaveRepository.findByIdAndEmployeeActiveTrue(any()))
                 .thenReturn(Optional.of(leave));
-        when(leaveUtil.getRemainingDays(leave, LeaveType.SICK_DAY)).thenReturn(10);
-        when(leaveUtil.getRemainingDays(leave, LeaveType.PAID_LEAVE)).thenReturn(10);
+        LeaveBalance balance = new LeaveBalance();
+        when(leaveBalanceLedger.getCurrentBalance(any())).thenReturn(balance);
+        when(leaveBalanceLedger.getRemainingDays(balance, LeaveType.SICK_DAY)).thenReturn(10);
+        when(leaveBalanceLedger.getRemainingDays(balance, LeaveType.PAID_LEAVE)).thenReturn(10);
         setContext();
         LeaveFullDto result = leaveService.getById(1L);
 
@@ -201,7 +241,7 @@ class LeaveServiceUnitTest {
     @DisplayName(
             "Should throw an exception when the leave type is sick day and the employee has no enough sick days")
     void saveWhenLeaveTypeIsSickDayAndEmployeeHasNoEnoughSickDaysThenThrowException() {
-        when(employeeRepository.findByIdAndUserIsBlockedFalse(1L)).thenReturn(Optional.of(employee));
+        when(employeeRepository.findByIdAndActiveTrue(1L)).thenReturn(Optional.of(employee));
         setContext();
         assertThrows(CreateException.class, () -> leaveService.save(dto));
     }
@@ -211,9 +251,20 @@ class LeaveServiceUnitTest {
             "Should throw an exception when the leave type is paid leave and the employee has no enough paid leave days")
     void saveWhenLeaveTypeIsPaidLeaveAndEmployeeHasNoEnoughPaidLeaveDaysThenThrowException() {
         dto.setLeaveType(LeaveType.PAID_LEAVE);
-        when(employeeRepository.findByIdAndUserIsBlockedFalse(1L)).thenReturn(Optional.of(employee));
+        when(employeeRepository.findByIdAndActiveTrue(1L)).thenReturn(Optional.of(employee));
+        setContext();
+        assertThrows(CreateException.class, () -> leaveService.save(dto));
+    }
+
+    @Test
+    @DisplayName("Should throw an exception when the leave overlaps another leave of the employee")
+    void saveWhenLeaveOverlapsAnotherLeaveThenThrowException() {
+        when(employeeRepository.findByIdAndActiveTrue(1L)).thenReturn(Optional.of(employee));
+        when(overlapGuard.leaveOverlaps(any(), any(), any(), any())).thenReturn(true);
         setContext();
         assertThrows(CreateException.class, () -> leaveService.save(dto));
+        verify(leaveBalanceLedger, never()).add(any());
+        verify(leaveRepository, never()).save(any());
     }
 
     @Test
@@ -221,9 +272,9 @@ class LeaveServiceUnitTest {
     void saveWhenEmployeeHasEnoughSickDays() {
         setContext();
         when(leaveRepository.save(any())).thenReturn(leave);
-        when(employeeRepository.findByIdAndUserIsBlockedFalse(any()))
+        when(employeeRepository.findByIdAndActiveTrue(any()))
                 .thenReturn(Optional.of(new Employee()));
-        when(leaveUtil.checkRemainingDays(any(Leave.class), any())).thenReturn(true);
+        when(leaveBalanceLedger.add(any(Leave.class))).thenReturn(true);
         LeaveFullDto result = leaveService.save(dto);
         assertEquals(leave.getId(), result.getId());
         assertEquals(leave.getLeaveType(), result.getLeaveType());
@@ -240,9 +291,9 @@ class LeaveServiceUnitTest {
         dto.setLeaveType(LeaveType.PAID_LEAVE);
         setContext();
         when(leaveRepository.save(any())).thenReturn(leave);
-        when(employeeRepository.findByIdAndUserIsBlockedFalse(any()))
+        when(employeeRepository.findByIdAndActiveTrue(any()))
                 .thenReturn(Optional.of(new Employee()));
-        when(leaveUtil.checkRemainingDays(any(), any())).thenReturn(true);
+        when(leaveBalanceLedger.add(any())).thenReturn(true);
         LeaveFullDto saved = leaveService.save(dto);
         assertEquals(leave.getId(), saved.getId());
         assertEquals(leave.getLeaveType(), saved.getLeaveType());
@@ -256,7 +307,7 @@ class LeaveServiceUnitTest {
     @Test
     @DisplayName("Should throw an exception when the leave is not found")
     void updateWhenLeaveIsNotFoundThenThrowException() {
-        when(leaveRepository.findByIdAndEmployeeUserIsBlockedFalse(1L))
+        when(leaveRepository.findByIdAndEmployeeActiveTrue(1L))
                 .thenReturn(Optional.empty());
         assertThrows(DeleteException.class, () -> leaveService.delete(1L));
     }
@@ -267,9 +318,9 @@ class LeaveServiceUnitTest {
         employee.setUser(user);
         employee.setId(1L);
         dto.setLeaveType(LeaveType.PAID_LEAVE);
-        when(leaveRepository.findByIdAndEmployeeUserIsBlockedFalse(1L))
+        when(leaveRepository.findByIdAndEmployeeActiveTrue(1L))
                 .thenReturn(Optional.of(leave));
-        when(leaveUtil.checkRemainingDays(leave, LeaveType.PAID_LEAVE)).thenReturn(false);
+        when(leaveBalanceLedger.add(leave)).thenReturn(false);
         setContext();
         assertThrows(CreateException.class, () -> leaveService.update(dto));
     }
@@ -279,10 +330,12 @@ class LeaveServiceUnitTest {
     void updateWhenEverythingIsOkThenReturnFullDtoOfUpdatedLeave() {
         employee.setUser(user);
         employee.setId(1L);
-        when(leaveRepository.findByIdAndEmployeeUserIsBlockedFalse(1L)).thenReturn(Optional.of(leave));
-        when(leaveUtil.checkRemainingDays(leave, LeaveType.SICK_DAY)).thenReturn(true);
+        when(leaveRepository.findByIdAndEmployeeActiveTrue(1L)).thenReturn(Optional.of(leave));
+        when(leaveBalanceLedger.add(leave)).thenReturn(true);
         setContext();
         LeaveFullDto fullDto = leaveService.update(dto);
+        verify(leaveBalanceLedger).remove(leave);
+        verify(leaveBalanceLedger).add(leave);
         assertEquals(fullDto.getId(), leave.getId());
         assertEquals(fullDto.getLeaveType(), dto.getLeaveType());
         assertEquals(fullDto.getLeaveStartDate(), dto.getLeaveStartDate());
@@ -295,7 +348,7 @@ class LeaveServiceUnitTest {
     @Test
     @DisplayName("Should throw an exception when the leave does not exist")
     void deleteWhenLeaveDoesNotExistThenThrowException() {
-        when(leaveRepository.findByIdAndEmployeeUserIsBlockedFalse(1L))
+        when(leaveRepository.findByIdAndEmployeeActiveTrue(1L))
                 .thenReturn(Optional.empty());
         assertThrows(DeleteException.class, () -> leaveService.delete(1L));
     }
@@ -305,8 +358,9 @@ class LeaveServiceUnitTest {
     void deleteWhenLeaveExists() {
         employee.setUser(user);
         setContext();
-        when(leaveRepository.findByIdAndEmployeeUserIsBlockedFalse(1L)).thenReturn(Optional.of(leave));
+        when(leaveRepository.findByIdAndEmployeeActiveTrue(1L)).thenReturn(Optional.of(leave));
         leaveService.delete(1L);
+        verify(leaveBalanceLedger).remove(leave);
         verify(leaveRepository, times(1)).deleteById(1L);
     }
 
@@ -0,0 +1,80 @@
+package com.syberry.bakery.service;
+
+import com.syberry.bakery.entity.RefreshToken;
+import com.syberry.bakery.entity.User;
+import com.syberry.bakery.repository.RefreshTokenRepository;
+import com.syberry.bakery.service.impl.RefreshTokenServiceImpl;
+import com.syberry.bakery.util.JwtUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class RefreshTokenServiceUnitTest {
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+    @Mock
+    private JwtUtils jwtUtils;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private RefreshTokenServiceImpl refreshTokenService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        refreshTokenService = new RefreshTokenServiceImpl(24L, refreshTokenRepository, jwtUtils, transactionManager);
+        user = new User();
+        user.setId(1L);
+    }
+
+    @Test
+    void should_RenewTokenInPlace_When_RowExists() {
+        when(refreshTokenRepository.updateTokenByUserId(eq(1L), any(), any())).thenReturn(1);
+        String token = refreshTokenService.createRefreshToken(user);
+        verify(refreshTokenRepository).updateTokenByUserId(eq(1L), eq(token), any());
+        verify(refreshTokenRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void should_InsertToken_When_FirstLogin() {
+        when(refreshTokenRepository.updateTokenByUserId(eq(1L), any(), any())).thenReturn(0);
+        String token = refreshTokenService.createRefreshToken(user);
+        ArgumentCaptor<RefreshToken> inserted = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).saveAndFlush(inserted.capture());
+        assertThat(inserted.getValue().getToken()).isEqualTo(token);
+        assertThat(inserted.getValue().getUser()).isSameAs(user);
+    }
+
+    @Test
+    void should_RenewToken_When_ConcurrentLoginInsertedFirst() {
+        when(refreshTokenRepository.updateTokenByUserId(eq(1L), any(), any())).thenReturn(0, 1);
+        when(refreshTokenRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("user_id"));
+        String token = refreshTokenService.createRefreshToken(user);
+        verify(refreshTokenRepository, times(2)).updateTokenByUserId(eq(1L), eq(token), any());
+    }
+
+    @Test
+    void should_Rethrow_When_InsertFailsAndNoRowToRenew() {
+        when(refreshTokenRepository.updateTokenByUserId(eq(1L), any(), any())).thenReturn(0);
+        when(refreshTokenRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("token"));
+        assertThrows(DataIntegrityViolationException.class, () -> refreshTokenService.createRefreshToken(user));
+    }
+}
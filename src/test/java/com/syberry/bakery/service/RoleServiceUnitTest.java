@@ -10,6 +10,7 @@ import com.syberry.bakery.entity.User;
 import com.syberry.bakery.exception.EntityNotFoundException;
 import com.syberry.bakery.repository.RoleRepository;
 import com.syberry.bakery.repository.UserRepository;
+import com.syberry.bakery.security.SecurityVersionRegistry;
 import com.syberry.bakery.service.impl.RoleServiceImpl;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -18,6 +19,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.ArrayList;
@@ -43,6 +45,8 @@ public class RoleServiceUnitTest {
     private UserRepository userRepository;
     @Mock
     private RoleRepository roleRepository;
+    @Mock
+    private SecurityVersionRegistry securityVersionRegistry;
 
     @Test
     void should_AddRoleToUser_When_EnteredCorrectData() {
@@ -125,4 +129,10 @@ public class RoleServiceUnitTest {
         when(roleConverter.convertToDtos(any())).thenReturn(new ArrayList<>(List.of(new RoleDto())));
         assertThat(roleService.getRoles().get(0)).isEqualTo(new RoleDto());
     }
+
+    @Test
+    void should_ThrowError_When_GettingUsersInNoneExistingRole() {
+        when(roleRepository.existsById(5L)).thenReturn(false);
+        assertThrows(EntityNotFoundException.class, () -> roleService.getUsersInRole(5L, PageRequest.of(0, 20)));
+    }
 }
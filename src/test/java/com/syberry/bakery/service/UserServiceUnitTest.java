@@ -1,13 +1,18 @@
 package com.syberry.bakery.service;
 
 import com.syberry.bakery.converter.UserConverter;
+import com.syberry.bakery.dto.CountMode;
 import com.syberry.bakery.dto.SignUpRequestDto;
 import com.syberry.bakery.dto.UserDto;
 import com.syberry.bakery.dto.UsersFilterDto;
+import com.syberry.bakery.entity.Employee;
 import com.syberry.bakery.entity.User;
 import com.syberry.bakery.exception.EntityNotFoundException;
+import com.syberry.bakery.repository.EmployeeRepository;
 import com.syberry.bakery.repository.UserRepository;
+import com.syberry.bakery.security.SecurityVersionRegistry;
 import com.syberry.bakery.service.impl.UserServiceImpl;
+import com.syberry.bakery.util.CountCache;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -25,6 +30,7 @@ import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -37,12 +43,18 @@ public class UserServiceUnitTest {
     @Mock
     private UserRepository userRepository;
     @Mock
+    private EmployeeRepository employeeRepository;
+    @Mock
     private PasswordEncoder encoder;
+    @Mock
+    private SecurityVersionRegistry securityVersionRegistry;
+    @Mock
+    private CountCache countCache;
 
     @Test
     void should_SuccessfullyReturnAllUsers() {
         when(userRepository.findAllByFiltering(any(), any(), any(), any(), any())).thenReturn(new PageImpl<>(List.of()));
-        assertThat(userService.getAllUsers(PageRequest.of(0, 20), new UsersFilterDto())).isEqualTo(new PageImpl<>(List.of()));
+        assertThat(userService.getAllUsers(PageRequest.of(0, 20), CountMode.EXACT, new UsersFilterDto())).isEqualTo(new PageImpl<>(List.of()));
     }
 
     @Test
@@ -89,9 +101,13 @@ public class UserServiceUnitTest {
     @Test
     void should_SuccessfullyDisableUser() {
         User user = new User();
+        Employee employee = new Employee();
         when(userRepository.findByIdAndIsBlockedFalse(any())).thenReturn(Optional.of(user));
+        when(employeeRepository.findByUserId(any())).thenReturn(Optional.of(employee));
         userService.disableUser(any());
         assertThat(user.getIsBlocked()).isTrue();
+        assertThat(employee.isActive()).isFalse();
+        verify(securityVersionRegistry).bump(user);
     }
 
     @Test
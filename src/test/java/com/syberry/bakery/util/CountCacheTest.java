@@ -0,0 +1,59 @@
+package com.syberry.bakery.util;
+
+import com.syberry.bakery.dto.LeaveType;
+import com.syberry.bakery.entity.Compensation;
+import com.syberry.bakery.entity.Leave;
+import com.syberry.bakery.entity.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class CountCacheTest {
+    private CountCache countCache;
+    private AtomicInteger counted;
+
+    @BeforeEach
+    void setUp() {
+        countCache = new CountCache(100, 60, mock(EntityManagerFactory.class), new SimpleMeterRegistry());
+        counted = new AtomicInteger();
+    }
+
+    @Test
+    void should_CountOncePerFilter() {
+        assertThat(countLeaves("john")).isEqualTo(1);
+        assertThat(countLeaves("john")).isEqualTo(1);
+        assertThat(countLeaves("jane")).isEqualTo(2);
+    }
+
+    @Test
+    void should_RecountOnlyQueriesOverWrittenEntity() {
+        countLeaves("john");
+        countCache.get(Set.of(Compensation.class, User.class), "", counted::incrementAndGet);
+
+        countCache.invalidate(Leave.class);
+
+        assertThat(countLeaves("john")).isEqualTo(3);
+        assertThat(countCache.get(Set.of(Compensation.class, User.class), "", counted::incrementAndGet)).isEqualTo(2);
+        countCache.invalidate(User.class);
+        assertThat(countLeaves("john")).isEqualTo(4);
+    }
+
+    @Test
+    void should_NormalizeFilterValues() {
+        assertThat(CountCache.filterKey(null, List.of(LeaveType.PAID_LEAVE, LeaveType.SICK_DAY)))
+                .isEqualTo(CountCache.filterKey("", List.of(LeaveType.SICK_DAY, LeaveType.PAID_LEAVE)));
+        assertThat(CountCache.filterKey("a", "b")).isNotEqualTo(CountCache.filterKey("ab", ""));
+    }
+
+    private long countLeaves(String name) {
+        return countCache.get(Set.of(Leave.class, User.class), CountCache.filterKey(name), counted::incrementAndGet);
+    }
+}
@@ -0,0 +1,57 @@
+package com.syberry.bakery.util;
+
+import com.syberry.bakery.dto.SliceDto;
+import com.syberry.bakery.exception.InvalidArgumentTypeException;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class KeysetCursorTest {
+
+    @Test
+    void should_StartByAscendingId_When_Unsorted() {
+        KeysetCursor cursor = KeysetCursor.of("", Sort.unsorted());
+        assertThat(cursor.isFirst()).isTrue();
+        assertThat(cursor.getProperty()).isEqualTo(KeysetCursor.ID);
+        assertThat(cursor.isAscending()).isTrue();
+        assertThat(cursor.requireAscendingId()).isZero();
+    }
+
+    @Test
+    void should_CarrySortAndLastRowToNextCursor() {
+        KeysetCursor first = KeysetCursor.of(null, Sort.by(Sort.Direction.DESC, "leaveStartDate"));
+        List<LocalDate> rows = List.of(LocalDate.of(2024, 3, 1), LocalDate.of(2024, 2, 1), LocalDate.of(2024, 1, 1));
+        SliceDto<LocalDate> slice = first.toSlice(rows, 2, Function.identity(), date -> (long) date.getMonthValue());
+
+        assertThat(slice.getContent()).hasSize(2);
+        assertThat(slice.isHasNext()).isTrue();
+        KeysetCursor next = KeysetCursor.of(slice.getNextCursor(), Sort.unsorted());
+        assertThat(next.getProperty()).isEqualTo("leaveStartDate");
+        assertThat(next.isAscending()).isFalse();
+        assertThat(next.getLastId()).isEqualTo(2L);
+        assertThat(next.lastValue(LocalDate.class)).isEqualTo(LocalDate.of(2024, 2, 1));
+    }
+
+    @Test
+    void should_NotIssueCursor_When_LastSliceIsRead() {
+        SliceDto<Long> slice = KeysetCursor.of("", Sort.unsorted())
+                .toSlice(List.of(1L, 2L), 2, Function.identity(), Function.identity());
+        assertThat(slice.isHasNext()).isFalse();
+        assertThat(slice.getNextCursor()).isNull();
+    }
+
+    @Test
+    void should_RejectMalformedCursorsAndSorts() {
+        assertThrows(InvalidArgumentTypeException.class, () -> KeysetCursor.of("not a cursor", Sort.unsorted()));
+        assertThrows(InvalidArgumentTypeException.class,
+                () -> KeysetCursor.of("", Sort.by("leaveStartDate", "id")));
+        assertThrows(InvalidArgumentTypeException.class,
+                () -> KeysetCursor.of("", Sort.by("firstName")).requireAscendingId());
+    }
+}
@@ -0,0 +1,171 @@
+package com.syberry.bakery.util;
+
+import com.syberry.bakery.dto.LeaveType;
+import com.syberry.bakery.entity.Contract;
+import com.syberry.bakery.entity.Employee;
+import com.syberry.bakery.entity.Leave;
+import com.syberry.bakery.entity.LeaveBalance;
+import com.syberry.bakery.entity.LeaveBalanceId;
+import com.syberry.bakery.repository.ContractRepository;
+import com.syberry.bakery.repository.EmployeeRepository;
+import com.syberry.bakery.repository.LeaveBalanceRepository;
+import com.syberry.bakery.repository.LeaveRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class LeaveBalanceLedgerTest {
+    private static final LocalDate CONTRACT_START = LocalDate.now().minusYears(2).withMonth(3).withDayOfMonth(1);
+
+    @Mock
+    private LeaveBalanceRepository leaveBalanceRepository;
+    @Mock
+    private LeaveRepository leaveRepository;
+    @Mock
+    private ContractRepository contractRepository;
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    private LeaveBalanceLedger ledger;
+    private Employee employee;
+
+    @BeforeEach
+    void setUp() {
+        ledger = new LeaveBalanceLedger(leaveBalanceRepository, leaveRepository, contractRepository, employeeRepository);
+        ReflectionTestUtils.setField(ledger, "sickDays", 3);
+        ReflectionTestUtils.setField(ledger, "paidDays", 25);
+        employee = new Employee();
+        employee.setId(1L);
+        Contract contract = new Contract();
+        contract.setContractStartDate(CONTRACT_START);
+        when(contractRepository.findByEmployeeIdAndContractEndDateGreaterThan(anyLong(), any()))
+                .thenReturn(Optional.of(contract));
+        when(employeeRepository.lockById(1L)).thenReturn(Optional.of(1L));
+    }
+
+    @Test
+    void should_StartEntitlementYearOnLastContractAnniversary() {
+        LocalDate start = LocalDate.of(2020, 3, 15);
+        assertThat(LeaveBalanceLedger.yearStart(start, LocalDate.of(2023, 3, 15))).isEqualTo(LocalDate.of(2023, 3, 15));
+        assertThat(LeaveBalanceLedger.yearStart(start, LocalDate.of(2023, 3, 14))).isEqualTo(LocalDate.of(2022, 3, 15));
+        assertThat(LeaveBalanceLedger.yearStart(LocalDate.of(2020, 2, 29), LocalDate.of(2023, 2, 28)))
+                .isEqualTo(LocalDate.of(2023, 2, 28));
+    }
+
+    @Test
+    void should_ReadRemainingDaysFromCurrentYearRow() {
+        LeaveBalanceId id = new LeaveBalanceId(1L, LeaveBalanceLedger.yearStart(CONTRACT_START, LocalDate.now()));
+        when(leaveBalanceRepository.findById(id)).thenReturn(Optional.of(new LeaveBalance(id, 1, 10)));
+        LeaveBalance balance = ledger.getCurrentBalance(1L);
+        assertThat(ledger.getRemainingDays(balance, LeaveType.SICK_DAY)).isEqualTo(2);
+        assertThat(ledger.getRemainingDays(balance, LeaveType.PAID_LEAVE)).isEqualTo(15);
+    }
+
+    @Test
+    void should_AddLeaveToItsYear_And_ReportWhetherItFits() {
+        LocalDate end = CONTRACT_START.plusYears(1).plusDays(5);
+        LeaveBalanceId id = new LeaveBalanceId(1L, CONTRACT_START.plusYears(1));
+        LeaveBalance stored = new LeaveBalance(id, 1, 0);
+        when(leaveBalanceRepository.findLockedById(id)).thenReturn(Optional.of(stored));
+
+        assertThat(ledger.add(leave(LeaveType.SICK_DAY, end.minusDays(1), end))).isTrue();
+        assertThat(stored.getSickDaysUsed()).isEqualTo(3);
+        assertThat(ledger.add(leave(LeaveType.SICK_DAY, end, end))).isFalse();
+    }
+
+    @Test
+    void should_NotTouchLedger_When_LeaveIsNotCounted() {
+        assertThat(ledger.add(leave(LeaveType.UNPAID_LEAVE, LocalDate.now(), LocalDate.now().plusDays(40)))).isTrue();
+        ledger.remove(leave(LeaveType.MATERNITY_LEAVE, LocalDate.now(), LocalDate.now()));
+        verify(leaveBalanceRepository, never()).save(any());
+    }
+
+    @Test
+    void should_SkipRemove_When_ThereIsNoActiveContract() {
+        when(contractRepository.findByEmployeeIdAndContractEndDateGreaterThan(anyLong(), any()))
+                .thenReturn(Optional.empty());
+        ledger.remove(leave(LeaveType.PAID_LEAVE, LocalDate.now(), LocalDate.now()));
+        verify(leaveBalanceRepository, never()).save(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void should_RebuildRowsFromLeaves() {
+        LocalDate firstYear = CONTRACT_START;
+        LocalDate secondYear = CONTRACT_START.plusYears(1);
+        LeaveBalance stale = new LeaveBalance(new LeaveBalanceId(1L, firstYear), 3, 3);
+        LeaveBalance orphan = new LeaveBalance(new LeaveBalanceId(1L, firstYear.minusYears(1)), 1, 0);
+        when(leaveBalanceRepository.findByIdEmployeeId(1L)).thenReturn(List.of(stale, orphan));
+        when(leaveRepository.findByEmployeeIdAndLeaveTypeIn(any(), any())).thenReturn(List.of(
+                leave(LeaveType.PAID_LEAVE, firstYear.plusDays(10), firstYear.plusDays(14)),
+                leave(LeaveType.SICK_DAY, secondYear.plusDays(1), secondYear.plusDays(1))));
+
+        ledger.rebuild(1L);
+
+        assertThat(stale.getSickDaysUsed()).isZero();
+        assertThat(stale.getPaidDaysUsed()).isEqualTo(5);
+        verify(leaveBalanceRepository).delete(orphan);
+        ArgumentCaptor<Iterable<LeaveBalance>> created = ArgumentCaptor.forClass(Iterable.class);
+        verify(leaveBalanceRepository).saveAll(created.capture());
+        assertThat(created.getValue()).containsExactly(new LeaveBalance(new LeaveBalanceId(1L, secondYear), 1, 0));
+    }
+
+    @Test
+    void should_LockEmployeeBeforeReadingBalances() {
+        LeaveBalanceId id = new LeaveBalanceId(1L, CONTRACT_START.plusYears(1));
+        when(leaveBalanceRepository.findLockedById(id)).thenReturn(Optional.empty());
+        LocalDate end = CONTRACT_START.plusYears(1).plusDays(5);
+
+        ledger.add(leave(LeaveType.SICK_DAY, end, end));
+        ledger.rebuild(1L);
+
+        InOrder inOrder = inOrder(employeeRepository, leaveBalanceRepository, leaveRepository);
+        inOrder.verify(employeeRepository).lockById(1L);
+        inOrder.verify(leaveBalanceRepository).findLockedById(id);
+        inOrder.verify(employeeRepository).lockById(1L);
+        inOrder.verify(leaveRepository).findByEmployeeIdAndLeaveTypeIn(any(), any());
+    }
+
+    @Test
+    void should_LockEmployeeBeforeReadingBalances_When_Removing() {
+        LeaveBalanceId id = new LeaveBalanceId(1L, CONTRACT_START.plusYears(1));
+        when(leaveBalanceRepository.findLockedById(id)).thenReturn(Optional.of(new LeaveBalance(id, 1, 0)));
+        LocalDate end = CONTRACT_START.plusYears(1).plusDays(5);
+
+        ledger.remove(leave(LeaveType.SICK_DAY, end, end));
+
+        InOrder inOrder = inOrder(employeeRepository, leaveBalanceRepository);
+        inOrder.verify(employeeRepository).lockById(1L);
+        inOrder.verify(leaveBalanceRepository).findLockedById(id);
+    }
+
+    private Leave leave(LeaveType leaveType, LocalDate start, LocalDate end) {
+        return Leave.builder()
+                .employee(employee)
+                .leaveType(leaveType)
+                .leaveStartDate(start)
+                .leaveEndDate(end)
+                .build();
+    }
+}
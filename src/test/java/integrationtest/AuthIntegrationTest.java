@@ -1,17 +1,23 @@
 package integrationtest;
 
-import com.google.common.cache.LoadingCache;
 import com.syberry.bakery.BakeryApplication;
 import com.syberry.bakery.config.MailConfig;
 import com.syberry.bakery.dto.EmailVerificationDto;
 import com.syberry.bakery.dto.ResetPasswordDto;
 import com.syberry.bakery.dto.UpdatePasswordDto;
 import com.syberry.bakery.entity.User;
+import com.syberry.bakery.repository.StoredTokenRepository;
 import com.syberry.bakery.repository.UserRepository;
+import com.syberry.bakery.security.JpaTokenStore;
+import com.syberry.bakery.security.OneTimePasswordStore;
+import com.syberry.bakery.security.SecurityVersionRegistry;
 import com.syberry.bakery.service.EmailService;
 import integrationtest.config.H2Config;
+import integrationtest.config.SqlStatementCounter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -24,15 +30,19 @@ import org.springframework.security.test.context.support.WithUserDetails;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import javax.servlet.http.Cookie;
 import java.io.File;
 import java.nio.file.Files;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
@@ -51,9 +61,13 @@ public class AuthIntegrationTest {
     @Autowired
     private UserRepository userRepository;
     @Autowired
-    private LoadingCache<String, String> oneTimePasswordCache;
+    private OneTimePasswordStore oneTimePasswordStore;
+    @Autowired
+    private StoredTokenRepository storedTokenRepository;
     @Autowired
     private PasswordEncoder encoder;
+    @Autowired
+    private SecurityVersionRegistry securityVersionRegistry;
     @MockBean
     private EmailService emailService;
     @MockBean
@@ -73,6 +87,39 @@ public class AuthIntegrationTest {
                 .andExpect(cookie().exists("refreshToken"));
     }
 
+    @Test
+    void should_LoadUserOnce_When_LoggingIn() throws Exception {
+        final String login_admin = Files.readString(new ClassPathResource("json/login-admin.json").getFile().toPath());
+        SqlStatementCounter.reset();
+        mockMvc.perform(post("/auth/login").contentType(MediaType.APPLICATION_JSON).content(login_admin))
+                .andExpect(status().isOk());
+        // user with roles, refresh token update, refresh token insert on the first login
+        assertThat(SqlStatementCounter.count()).isEqualTo(3);
+
+        SqlStatementCounter.reset();
+        mockMvc.perform(post("/auth/login").contentType(MediaType.APPLICATION_JSON).content(login_admin))
+                .andExpect(status().isOk());
+        assertThat(SqlStatementCounter.count()).isEqualTo(2);
+    }
+
+    @Test
+    void should_RejectAccessToken_When_SecurityVersionChanged() throws Exception {
+        final File jsonFile = new ClassPathResource("json/login-admin.json").getFile();
+        final String login_admin = Files.readString(jsonFile.toPath());
+        MvcResult login = mockMvc.perform(post("/auth/login").contentType(MediaType.APPLICATION_JSON).content(login_admin))
+                .andExpect(status().isOk())
+                .andReturn();
+        Cookie accessToken = login.getResponse().getCookie("accessToken");
+        mockMvc.perform(get("/roles").cookie(accessToken))
+                .andExpect(status().isOk());
+
+        User admin = userRepository.findByIdAndIsBlockedFalse(1L).get();
+        securityVersionRegistry.bump(admin);
+        userRepository.save(admin);
+        mockMvc.perform(get("/roles").cookie(accessToken))
+                .andExpect(status().isUnauthorized());
+    }
+
     @Test
     void should_Login_With_2fa() throws Exception {
         User user = userRepository.findByIdAndIsBlockedFalse(1L).get();
@@ -89,6 +136,24 @@ public class AuthIntegrationTest {
                 .andExpect(cookie().doesNotExist("refreshToken"));
     }
 
+    @Test
+    void should_VerifyEmailCode_When_CodeWasIssuedOnAnotherNode() throws Exception {
+        User user = userRepository.findByIdAndIsBlockedFalse(1L).get();
+        user.set2faEnabled(true);
+        userRepository.save(user);
+        final String login_admin = Files.readString(new ClassPathResource("json/login-admin.json").getFile().toPath());
+        mockMvc.perform(post("/auth/login").contentType(MediaType.APPLICATION_JSON).content(login_admin))
+                .andExpect(status().isOk());
+        ArgumentCaptor<String> code = ArgumentCaptor.forClass(String.class);
+        verify(emailService).sendEmailVerificationCode(code.capture(), eq("admin@mail.com"));
+
+        OneTimePasswordStore otherNode = new OneTimePasswordStore(new JpaTokenStore(storedTokenRepository),
+                5, 100, 5, 60, new SimpleMeterRegistry());
+        assertThat(otherNode.get("admin@mail.com")).isEqualTo(code.getValue());
+        otherNode.invalidate("admin@mail.com");
+        assertThat(oneTimePasswordStore.get("admin@mail.com")).isNull();
+    }
+
     @Test
     @WithUserDetails("admin@mail.com")
     void should_ClearCookieToken() throws Exception {
@@ -103,7 +168,7 @@ public class AuthIntegrationTest {
         final File jsonFile = new ClassPathResource("json/reset-password-admin.json").getFile();
         final String reset_password_admin = Files.readString(jsonFile.toPath());
         ResetPasswordDto resetPasswordDto = new ResetPasswordDto("admin@mail.com","token","1234");
-        oneTimePasswordCache.put(resetPasswordDto.getEmail(), resetPasswordDto.getToken());
+        oneTimePasswordStore.put(resetPasswordDto.getEmail(), resetPasswordDto.getToken());
         mockMvc.perform(post("/auth/reset-password").contentType(MediaType.APPLICATION_JSON).content(reset_password_admin))
                 .andDo(print())
                 .andExpect(status().isNoContent());
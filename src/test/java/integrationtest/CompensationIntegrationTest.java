@@ -1,9 +1,11 @@
 package integrationtest;
 
+import com.jayway.jsonpath.JsonPath;
 import com.syberry.bakery.BakeryApplication;
 import com.syberry.bakery.config.MailConfig;
 import com.syberry.bakery.service.EmailService;
 import integrationtest.config.H2Config;
+import integrationtest.config.SqlStatementCounter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -18,10 +20,14 @@ import org.springframework.security.test.context.support.WithUserDetails;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.io.File;
 import java.nio.file.Files;
+import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -88,6 +94,17 @@ public class CompensationIntegrationTest {
                         .value(1));
     }
 
+    @Test
+    @WithUserDetails("admin@mail.com")
+    void should_ReadCompensationPageWithOneStatement() throws Exception {
+        SqlStatementCounter.reset();
+        mockMvc.perform(get("/compensations"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].employeeFirstName").exists())
+                .andExpect(jsonPath("$.content[0].employeeId").value(1));
+        assertThat(SqlStatementCounter.count()).isEqualTo(1);
+    }
+
     @Test
     @WithUserDetails("admin@mail.com")
     void should_GetCompensationsByEmployeeId() throws Exception {
@@ -120,6 +137,25 @@ public class CompensationIntegrationTest {
                 .andExpect(jsonPath("$.id").exists());
     }
 
+    @Test
+    @WithUserDetails("admin@mail.com")
+    void should_ReturnNeighbourCompensationIds() throws Exception {
+        final File jsonFileComp = new ClassPathResource("json/create-compensation5.json").getFile();
+        final String compToCreate = Files.readString(jsonFileComp.toPath());
+        mockMvc.perform(post("/compensations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(compToCreate))
+                .andDo(print())
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(2))
+                .andExpect(jsonPath("$.previousCompensationId").value(1))
+                .andExpect(jsonPath("$.nextCompensationId").doesNotExist());
+        mockMvc.perform(get("/compensations/1"))
+                .andDo(print())
+                .andExpect(jsonPath("$.previousCompensationId").doesNotExist())
+                .andExpect(jsonPath("$.nextCompensationId").value(2));
+    }
+
     @Test
     @WithUserDetails("admin@mail.com")
     void should_ThrowError_When_CreateCompensationWithExistedDates() throws Exception {
@@ -167,4 +203,35 @@ public class CompensationIntegrationTest {
                 .andDo(print())
                 .andExpect(status().isBadRequest());
     }
+
+    @Test
+    @WithUserDetails("admin@mail.com")
+    void should_ScrollCompensationsWithCursor() throws Exception {
+        for (String json : List.of("json/create-compensation2.json", "json/create-compensation5.json")) {
+            mockMvc.perform(post("/compensations")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(Files.readString(new ClassPathResource(json).getFile().toPath())))
+                    .andExpect(status().isCreated());
+        }
+        MvcResult firstSlice = mockMvc.perform(get("/compensations")
+                        .param("cursor", "")
+                        .param("size", "2")
+                        .param("sort", "effectiveFrom,desc"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].id", contains(3, 2)))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andReturn();
+        String cursor = JsonPath.read(firstSlice.getResponse().getContentAsString(), "$.nextCursor");
+        mockMvc.perform(get("/compensations")
+                        .param("cursor", cursor)
+                        .param("size", "2"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].id", contains(1)))
+                .andExpect(jsonPath("$.hasNext").value(false))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+        mockMvc.perform(get("/compensations").param("cursor", "broken"))
+                .andExpect(status().isBadRequest());
+    }
 }
@@ -140,4 +140,21 @@ public class EmployeeIntegrationTest {
                 .andDo(print())
                 .andExpect(status().isBadRequest());
     }
+
+    @Test
+    @WithUserDetails("admin@mail.com")
+    void should_HideEmployee_When_UserIsDisabled() throws Exception {
+        mockMvc.perform(post("/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(Files.readString(new ClassPathResource("json/create-user.json").getFile().toPath())))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post("/employees")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(Files.readString(new ClassPathResource("json/create-employee.json").getFile().toPath())))
+                .andExpect(status().isCreated());
+        mockMvc.perform(get("/employees/1")).andExpect(status().isOk());
+        mockMvc.perform(delete("/users/2")).andExpect(status().isNoContent());
+        mockMvc.perform(get("/employees/1")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/employees")).andExpect(jsonPath("$.content.size()").value(0));
+    }
 }
@@ -0,0 +1,136 @@
+package integrationtest;
+
+import com.syberry.bakery.BakeryApplication;
+import com.syberry.bakery.config.MailConfig;
+import com.syberry.bakery.dto.RoleName;
+import com.syberry.bakery.entity.Role;
+import com.syberry.bakery.entity.User;
+import com.syberry.bakery.repository.RoleRepository;
+import com.syberry.bakery.repository.UserRepository;
+import com.syberry.bakery.service.EmailService;
+import integrationtest.config.H2Config;
+import integrationtest.config.SqlStatementCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(classes = {BakeryApplication.class, H2Config.class})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+public class HibernateCacheIntegrationTest {
+    private static final String ADMIN_EMAIL = "admin@mail.com";
+
+    @Autowired
+    RoleRepository roleRepository;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+    @Autowired
+    MeterRegistry meterRegistry;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+    @MockBean
+    MailConfig mailConfig;
+    @MockBean
+    EmailService emailService;
+
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setup() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Test
+    void should_ServeRepeatedRoleLookupsFromQueryCache() {
+        Role first = inTransaction(() -> roleRepository.findByRoleName(RoleName.ROLE_ADMIN).orElseThrow());
+
+        SqlStatementCounter.reset();
+        Role second = inTransaction(() -> roleRepository.findByRoleName(RoleName.ROLE_ADMIN).orElseThrow());
+
+        assertThat(second).isEqualTo(first);
+        assertThat(SqlStatementCounter.count()).isZero();
+    }
+
+    @Test
+    void should_ServeRepeatedEmailLookupsFromNaturalIdCache() {
+        inTransaction(() -> userRepository.findByEmailAndIsBlockedFalse(ADMIN_EMAIL).orElseThrow().getRoles().size());
+
+        SqlStatementCounter.reset();
+        int roles = inTransaction(() ->
+                userRepository.findByEmailAndIsBlockedFalse(ADMIN_EMAIL).orElseThrow().getRoles().size());
+
+        assertThat(roles).isPositive();
+        assertThat(SqlStatementCounter.count()).isZero();
+        assertThat(meterRegistry.get("hibernate.cache.natural.id.requests").tag("result", "hit")
+                .functionCounter().count()).isPositive();
+        assertThat(meterRegistry.get("cache.gets").tag("cache", User.class.getName()).tag("result", "hit")
+                .functionCounter().count()).isPositive();
+        assertThat(meterRegistry.find("cache.evictions").tag("cache", User.class.getName()).functionCounter())
+                .isNotNull();
+    }
+
+    @Test
+    void should_ResolveChangedEmail_When_NaturalIdIsUpdated() {
+        inTransaction(() -> userRepository.findByEmailAndIsBlockedFalse(ADMIN_EMAIL).orElseThrow());
+        inTransaction(() -> {
+            userRepository.findByEmailAndIsBlockedFalse(ADMIN_EMAIL).orElseThrow().setEmail("new@mail.com");
+            return null;
+        });
+
+        Optional<User> byOldEmail = inTransaction(() -> userRepository.findByEmailAndIsBlockedFalse(ADMIN_EMAIL));
+        Optional<User> byNewEmail = inTransaction(() -> userRepository.findByEmailAndIsBlockedFalse("new@mail.com"));
+
+        assertThat(byOldEmail).isEmpty();
+        assertThat(byNewEmail).map(User::getId).contains(1L);
+    }
+
+    @Test
+    void should_SkipBlockedUsers_When_FoundByEmail() {
+        inTransaction(() -> {
+            userRepository.findByEmailAndIsBlockedFalse(ADMIN_EMAIL).orElseThrow().setIsBlocked(true);
+            return null;
+        });
+
+        assertThat(inTransaction(() -> userRepository.findByEmailAndIsBlockedFalse(ADMIN_EMAIL))).isEmpty();
+    }
+
+    @Test
+    void should_QueryByEmail_When_CachedNaturalIdPointsToFormerOwner() {
+        inTransaction(() -> userRepository.findByEmailAndIsBlockedFalse(ADMIN_EMAIL).orElseThrow());
+        // another node moves the address to a new account; this node only loses the cached entity
+        jdbcTemplate.update("update users set email = 'moved@mail.com' where id = 1");
+        jdbcTemplate.update("""
+                insert into users (created_at, email, first_name, last_name, is_blocked, is_2fa_enabled)
+                values (current_timestamp, ?, 'new', 'owner', false, false)""", ADMIN_EMAIL);
+        entityManagerFactory.getCache().evict(User.class, 1L);
+
+        Optional<User> byEmail = inTransaction(() -> userRepository.findByEmailAndIsBlockedFalse(ADMIN_EMAIL));
+
+        assertThat(byEmail).map(User::getFirstName).contains("new");
+    }
+
+    private <T> T inTransaction(Supplier<T> action) {
+        return transactionTemplate.execute(status -> action.get());
+    }
+}
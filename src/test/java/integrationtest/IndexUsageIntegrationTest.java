@@ -0,0 +1,110 @@
+package integrationtest;
+
+import com.syberry.bakery.BakeryApplication;
+import com.syberry.bakery.config.MailConfig;
+import com.syberry.bakery.dto.LeaveStatus;
+import com.syberry.bakery.repository.CompensationRepository;
+import com.syberry.bakery.repository.ContractRepository;
+import com.syberry.bakery.repository.LeaveRepository;
+import com.syberry.bakery.repository.UserRepository;
+import com.syberry.bakery.service.EmailService;
+import com.syberry.bakery.service.specification.LeaveSpecification;
+import integrationtest.config.H2Config;
+import integrationtest.config.SqlStatementCounter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the hot repository queries against the migrated schema and checks, through the plan of the
+ * statement Hibernate issued, that each one reads the index the migrations created for it.
+ */
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(classes = {BakeryApplication.class, H2Config.class})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+public class IndexUsageIntegrationTest {
+    private static final Pageable FIRST_MATCH = PageRequest.of(0, 1);
+    private static final LocalDate FROM = LocalDate.of(2023, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2023, 12, 31);
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @Autowired
+    LeaveRepository leaveRepository;
+    @Autowired
+    ContractRepository contractRepository;
+    @Autowired
+    CompensationRepository compensationRepository;
+    @Autowired
+    UserRepository userRepository;
+    @MockBean
+    MailConfig mailConfig;
+    @MockBean
+    EmailService emailService;
+
+    @Test
+    void should_UseEmployeeDatesIndex_When_CheckingLeaveOverlap() {
+        assertThat(explain(() -> leaveRepository.findOverlappingIds(1L, 1L, FROM, TO, FIRST_MATCH)))
+                .containsIgnoringCase("idx_leaves_employee_dates");
+    }
+
+    @Test
+    void should_UseEmployeeDatesIndex_When_CheckingContractOverlap() {
+        assertThat(explain(() -> contractRepository.findOverlappingIds(1L, 1L, FROM, TO, FIRST_MATCH)))
+                .containsIgnoringCase("idx_contract_employee_dates");
+    }
+
+    @Test
+    void should_UseEmployeeDatesIndex_When_CheckingCompensationOverlap() {
+        assertThat(explain(() -> compensationRepository.findOverlappingIds(1L, 1L, FROM, TO, FIRST_MATCH)))
+                .containsIgnoringCase("idx_compensation_employee_dates");
+    }
+
+    @Test
+    void should_UseStatusIndex_When_FilteringLeavesByStatus() {
+        assertThat(explain(() -> leaveRepository.findAllShort(
+                LeaveSpecification.forNameTypeStatus(null, null, List.of(LeaveStatus.PENDING_APPROVAL)),
+                PageRequest.of(0, 20))))
+                .containsIgnoringCase("idx_leaves_status");
+    }
+
+    @Test
+    void should_UseBlockedEmailIndex_When_ListingActiveUsersByEmail() {
+        assertThat(explain(() -> userRepository.findAllByIsBlockedFalse(PageRequest.of(0, 20, Sort.by("email")))))
+                .containsIgnoringCase("idx_users_blocked_email");
+    }
+
+    /**
+     * Runs the query, then asks the database for the plan of the last statement it issued. The plan doesn't
+     * depend on the bound values, so every parameter is bound to null.
+     */
+    private String explain(Runnable query) {
+        SqlStatementCounter.reset();
+        query.run();
+        String sql = SqlStatementCounter.lastStatement();
+        return jdbcTemplate.execute("explain " + sql, (PreparedStatement statement) -> {
+            for (int i = 1; i <= statement.getParameterMetaData().getParameterCount(); i++) {
+                statement.setObject(i, null);
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getString(1);
+            }
+        });
+    }
+}
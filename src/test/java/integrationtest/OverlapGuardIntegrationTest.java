@@ -0,0 +1,166 @@
+package integrationtest;
+
+import com.syberry.bakery.BakeryApplication;
+import com.syberry.bakery.config.MailConfig;
+import com.syberry.bakery.dto.LeaveStatus;
+import com.syberry.bakery.dto.LeaveType;
+import com.syberry.bakery.entity.Employee;
+import com.syberry.bakery.entity.Leave;
+import com.syberry.bakery.repository.EmployeeRepository;
+import com.syberry.bakery.repository.LeaveRepository;
+import com.syberry.bakery.service.EmailService;
+import com.syberry.bakery.util.OverlapGuard;
+import integrationtest.config.H2Config;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithUserDetails;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(classes = {BakeryApplication.class, H2Config.class})
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+public class OverlapGuardIntegrationTest {
+    private static final LocalDate START = LocalDate.of(2023, 3, 10);
+    private static final LocalDate END = LocalDate.of(2023, 3, 20);
+
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    OverlapGuard overlapGuard;
+    @Autowired
+    EmployeeRepository employeeRepository;
+    @Autowired
+    LeaveRepository leaveRepository;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+    @MockBean
+    MailConfig mailConfig;
+    @MockBean
+    EmailService emailService;
+
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setup() throws Exception {
+        mockMvc.perform(post("/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(Files.readString(new ClassPathResource("json/create-user.json").getFile().toPath())))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post("/employees")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(Files.readString(new ClassPathResource("json/create-employee.json").getFile().toPath())))
+                .andExpect(status().isCreated());
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Test
+    @WithUserDetails("admin@mail.com")
+    void should_DetectOverlap_Against_AnyStoredRange() {
+        Long first = saveLeave(LocalDate.of(2023, 1, 1), LocalDate.of(2023, 1, 5));
+        saveLeave(START, END);
+
+        assertThat(overlaps(null, END.plusDays(1), END.plusDays(3))).isFalse();
+        assertThat(overlaps(null, END, END.plusDays(3))).isTrue();
+        assertThat(overlaps(null, START.minusDays(3), START)).isTrue();
+        assertThat(overlaps(null, START.minusDays(3), START.minusDays(1))).isFalse();
+        assertThat(overlaps(null, START.plusDays(1), END.minusDays(1))).isTrue();
+        assertThat(overlaps(null, START.minusDays(1), END.plusDays(1))).isTrue();
+        assertThat(overlaps(null, LocalDate.of(2023, 1, 3), LocalDate.of(2023, 1, 4))).isTrue();
+        assertThat(overlaps(first, LocalDate.of(2023, 1, 3), LocalDate.of(2023, 1, 4))).isFalse();
+    }
+
+    @Test
+    @WithUserDetails("admin@mail.com")
+    void should_DetectOverlap_When_StoredRangesAlreadyOverlap() {
+        Long enclosing = saveLeave(LocalDate.of(2023, 5, 1), LocalDate.of(2023, 5, 10));
+        Long enclosed = saveLeave(LocalDate.of(2023, 5, 3), LocalDate.of(2023, 5, 5));
+
+        assertThat(overlaps(null, LocalDate.of(2023, 5, 7), LocalDate.of(2023, 5, 8))).isTrue();
+        assertThat(overlaps(enclosed, LocalDate.of(2023, 5, 7), LocalDate.of(2023, 5, 8))).isTrue();
+        assertThat(overlaps(enclosing, LocalDate.of(2023, 5, 7), LocalDate.of(2023, 5, 8))).isFalse();
+    }
+
+    @Test
+    @WithUserDetails("admin@mail.com")
+    void should_LetOnlyOneOfConcurrentOverlappingLeavesThrough() throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        Callable<Boolean> submit = () -> {
+            start.await();
+            return transactionTemplate.execute(status -> {
+                if (overlapGuard.leaveOverlaps(1L, null, START, END)) {
+                    return false;
+                }
+                sleep();
+                leaveRepository.save(leave(START, END));
+                return true;
+            });
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<Boolean>> results = List.of(executor.submit(submit), executor.submit(submit));
+            start.countDown();
+            assertThat(List.of(results.get(0).get(), results.get(1).get())).containsExactlyInAnyOrder(true, false);
+        } finally {
+            executor.shutdown();
+        }
+        assertThat(leaveRepository.count()).isEqualTo(1);
+    }
+
+    private boolean overlaps(Long excludedId, LocalDate start, LocalDate end) {
+        return Boolean.TRUE.equals(transactionTemplate.execute(status ->
+                overlapGuard.leaveOverlaps(1L, excludedId, start, end)));
+    }
+
+    private Long saveLeave(LocalDate start, LocalDate end) {
+        return leaveRepository.save(leave(start, end)).getId();
+    }
+
+    private Leave leave(LocalDate start, LocalDate end) {
+        Employee employee = employeeRepository.findById(1L).orElseThrow();
+        return Leave.builder()
+                .employee(employee)
+                .leaveType(LeaveType.UNPAID_LEAVE)
+                .leaveStartDate(start)
+                .leaveEndDate(end)
+                .leaveStatus(LeaveStatus.APPROVED)
+                .leaveReason("reason")
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(200);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
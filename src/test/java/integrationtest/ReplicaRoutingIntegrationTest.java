@@ -0,0 +1,106 @@
+package integrationtest;
+
+import com.syberry.bakery.BakeryApplication;
+import com.syberry.bakery.config.MailConfig;
+import com.syberry.bakery.security.UserDetailsImpl;
+import com.syberry.bakery.service.EmailService;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.test.context.support.WithUserDetails;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Files;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Two in-memory H2 databases stand in for a primary and a replica that never catches up, so which one
+ * served a read shows in the response.
+ */
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(classes = BakeryApplication.class, properties = {
+        "spring.datasource.url=" + ReplicaRoutingIntegrationTest.PRIMARY_URL,
+        "spring.datasource.username=sa",
+        "spring.datasource.password=sa",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "bakery.datasource.replicaUrls=" + ReplicaRoutingIntegrationTest.REPLICA_URL,
+        "bakery.datasource.primaryPinMs=" + ReplicaRoutingIntegrationTest.PIN_MS})
+@AutoConfigureMockMvc
+public class ReplicaRoutingIntegrationTest {
+    static final String PRIMARY_URL = "jdbc:h2:mem:primary;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_URL = "jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1";
+    static final long PIN_MS = 1000;
+
+    @Autowired
+    MockMvc mockMvc;
+    @MockBean
+    MailConfig mailConfig;
+    @MockBean
+    EmailService emailService;
+
+    @BeforeAll
+    static void migrateReplica() {
+        Flyway.configure().dataSource(REPLICA_URL, "sa", "sa").load().migrate();
+    }
+
+    @Test
+    @WithUserDetails("admin@mail.com")
+    void should_ReadOwnWritesFromPrimary_And_OtherReadsFromReplica() throws Exception {
+        mockMvc.perform(post("/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(Files.readString(new ClassPathResource("json/create-user.json").getFile().toPath())))
+                .andExpect(status().isCreated());
+        assertThat(countUsers(PRIMARY_URL)).isEqualTo(2);
+        assertThat(countUsers(REPLICA_URL)).isEqualTo(1);
+
+        // the writer is pinned to the primary
+        mockMvc.perform(get("/users/2")).andExpect(status().isOk());
+        // everyone else reads the replica
+        mockMvc.perform(get("/users/2").with(user(new UserDetailsImpl(5L, "hr@mail.com", "hr@mail.com",
+                        List.of(new SimpleGrantedAuthority("ROLE_HR"))))))
+                .andExpect(status().isBadRequest());
+
+        Thread.sleep(PIN_MS + 200);
+        mockMvc.perform(get("/users/2")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void should_AuthenticateAgainstPrimary_When_ReplicaLags() throws Exception {
+        new JdbcTemplate(new DriverManagerDataSource(PRIMARY_URL, "sa", "sa"))
+                .update("update users set password = ? where email = 'admin@mail.com'",
+                        new BCryptPasswordEncoder().encode("changed"));
+
+        mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"admin@mail.com\",\"password\":\"changed\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"admin@mail.com\",\"password\":\"admin\"}"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private static int countUsers(String url) {
+        Integer count = new JdbcTemplate(new DriverManagerDataSource(url, "sa", "sa"))
+                .queryForObject("select count(*) from users", Integer.class);
+        return count == null ? 0 : count;
+    }
+}
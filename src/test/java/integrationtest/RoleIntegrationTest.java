@@ -82,4 +82,23 @@ public class RoleIntegrationTest {
                 .andExpect(jsonPath("$.id").value(1))
                 .andExpect(jsonPath("$.roles").value(not(contains(RoleName.ROLE_HR.name()))));
     }
+
+    @Test
+    @WithMockUser(username = "admin@mail.com", roles = "ADMIN")
+    void should_GetUsersInRole() throws Exception {
+        final File jsonFile = new ClassPathResource("json/create-user.json").getFile();
+        final String userToCreate = Files.readString(jsonFile.toPath());
+        mockMvc.perform(post("/users").contentType(MediaType.APPLICATION_JSON)
+                        .content(userToCreate))
+                .andExpect(status().isCreated());
+        mockMvc.perform(get("/roles/4/users"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andExpect(jsonPath("$.content[0].email").value("test@gmail.com"));
+        mockMvc.perform(get("/roles/1/users"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andExpect(jsonPath("$.content[0].email").value("admin@mail.com"));
+    }
 }
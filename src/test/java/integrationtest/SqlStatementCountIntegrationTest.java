@@ -0,0 +1,181 @@
+package integrationtest;
+
+import com.syberry.bakery.BakeryApplication;
+import com.syberry.bakery.config.MailConfig;
+import com.syberry.bakery.dto.AssignmentType;
+import com.syberry.bakery.dto.LeaveStatus;
+import com.syberry.bakery.dto.LeaveType;
+import com.syberry.bakery.dto.Position;
+import com.syberry.bakery.entity.Compensation;
+import com.syberry.bakery.entity.Contract;
+import com.syberry.bakery.entity.Employee;
+import com.syberry.bakery.entity.Leave;
+import com.syberry.bakery.repository.CompensationRepository;
+import com.syberry.bakery.repository.ContractRepository;
+import com.syberry.bakery.repository.EmployeeRepository;
+import com.syberry.bakery.repository.LeaveRepository;
+import com.syberry.bakery.service.EmailService;
+import integrationtest.config.H2Config;
+import integrationtest.config.SqlStatementCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithUserDetails;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pins the number of SQL statements each read endpoint issues, so a fetch plan regression
+ * (an eager association, a lazy load in a loop) fails the build instead of slowing production down.
+ */
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(classes = {BakeryApplication.class, H2Config.class})
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+public class SqlStatementCountIntegrationTest {
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    EmployeeRepository employeeRepository;
+    @Autowired
+    ContractRepository contractRepository;
+    @Autowired
+    LeaveRepository leaveRepository;
+    @Autowired
+    CompensationRepository compensationRepository;
+    @MockBean
+    MailConfig mailConfig;
+    @MockBean
+    EmailService emailService;
+
+    @BeforeEach
+    void setup() throws Exception {
+        mockMvc.perform(post("/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(Files.readString(new ClassPathResource("json/create-user.json").getFile().toPath())))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post("/employees")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(Files.readString(new ClassPathResource("json/create-employee.json").getFile().toPath())))
+                .andExpect(status().isCreated());
+        Employee employee = employeeRepository.findById(1L).orElseThrow();
+        LocalDate today = LocalDate.now();
+        contractRepository.save(Contract.builder()
+                .employee(employee)
+                .position(Position.BAKER)
+                .dateOfSignature(today.minusMonths(6))
+                .contractStartDate(today.minusMonths(6))
+                .contractEndDate(today.plusMonths(6))
+                .type(AssignmentType.FULL_TIME)
+                .probationPeriod(false)
+                .createdAt(LocalDateTime.now())
+                .build());
+        leaveRepository.save(Leave.builder()
+                .employee(employee)
+                .leaveType(LeaveType.SICK_DAY)
+                .leaveStartDate(today.minusDays(2))
+                .leaveEndDate(today.minusDays(1))
+                .leaveStatus(LeaveStatus.APPROVED)
+                .leaveReason("sick")
+                .createdAt(LocalDateTime.now())
+                .build());
+        compensationRepository.save(Compensation.builder()
+                .employee(employee)
+                .amount(300)
+                .effectiveFrom(LocalDate.of(2023, 1, 1))
+                .validUntil(LocalDate.of(2024, 1, 1))
+                .specialConditions("specialConditions")
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+
+    @Test
+    @WithUserDetails("admin@mail.com")
+    void should_ReadUsersWithFixedStatementCount() throws Exception {
+        assertStatements("/users/2", 1);
+        // page of users; their roles were cached when the admin signed in and user 2 was read
+        assertStatements("/users", 1);
+        assertStatements("/users?cursor=", 1);
+        assertStatements("/users?count=NONE", 1);
+    }
+
+    @Test
+    @WithUserDetails("admin@mail.com")
+    void should_ReadEmployeesWithFixedStatementCount() throws Exception {
+        assertStatements("/employees/1", 1);
+        assertStatements("/employees", 1);
+        assertStatements("/employees?cursor=", 1);
+    }
+
+    @Test
+    @WithUserDetails("admin@mail.com")
+    void should_ReadContractsWithFixedStatementCount() throws Exception {
+        assertStatements("/contracts/1", 1);
+        assertStatements("/contracts", 1);
+        assertStatements("/contracts?cursor=", 1);
+        assertStatements("/contracts/employees/1", 1);
+    }
+
+    @Test
+    @WithUserDetails("admin@mail.com")
+    void should_ReadLeavesWithFixedStatementCount() throws Exception {
+        // leave with employee and user, then the active contract and the balance row of the current year
+        assertStatements("/leaves/1", 3);
+        assertStatements("/leaves", 1);
+        assertStatements("/leaves?cursor=&sort=leaveStartDate,desc", 1);
+        assertStatements("/leaves?count=NONE", 1);
+        assertStatements("/leaves/employees/1", 1);
+    }
+
+    @Test
+    @WithUserDetails("admin@mail.com")
+    void should_ReadCompensationsWithFixedStatementCount() throws Exception {
+        // compensation with employee and user, then the neighbour ids
+        assertStatements("/compensations/1", 2);
+        assertStatements("/compensations", 1);
+        assertStatements("/compensations?cursor=&sort=effectiveFrom", 1);
+        assertStatements("/compensations?count=NONE", 1);
+    }
+
+    @Test
+    @WithUserDetails("admin@mail.com")
+    void should_CountLeavesOnceUntilLeavesChange() throws Exception {
+        // page of leaves plus the count, then the cached count
+        assertStatements("/leaves?count=APPROXIMATE", 2);
+        assertStatements("/leaves?count=APPROXIMATE", 1);
+        leaveRepository.save(Leave.builder()
+                .employee(employeeRepository.findById(1L).orElseThrow())
+                .leaveType(LeaveType.PAID_LEAVE)
+                .leaveStartDate(LocalDate.now().plusDays(10))
+                .leaveEndDate(LocalDate.now().plusDays(11))
+                .leaveStatus(LeaveStatus.PENDING_APPROVAL)
+                .leaveReason("vacation")
+                .createdAt(LocalDateTime.now())
+                .build());
+        assertStatements("/leaves?count=APPROXIMATE", 2);
+    }
+
+    private void assertStatements(String uri, int expected) throws Exception {
+        SqlStatementCounter.reset();
+        mockMvc.perform(get(uri)).andExpect(status().isOk());
+        assertThat(SqlStatementCounter.count()).as(uri).isEqualTo(expected);
+    }
+}
@@ -0,0 +1,33 @@
+package integrationtest.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread, so background jobs
+ * don't affect the numbers a MockMvc request is asserted against. The last statement is kept
+ * for tests that inspect its plan.
+ */
+public class SqlStatementCounter implements StatementInspector {
+    private static final ThreadLocal<Integer> COUNT = ThreadLocal.withInitial(() -> 0);
+    private static final ThreadLocal<String> LAST = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.set(COUNT.get() + 1);
+        LAST.set(sql);
+        return sql;
+    }
+
+    public static void reset() {
+        COUNT.set(0);
+        LAST.remove();
+    }
+
+    public static int count() {
+        return COUNT.get();
+    }
+
+    public static String lastStatement() {
+        return LAST.get();
+    }
+}